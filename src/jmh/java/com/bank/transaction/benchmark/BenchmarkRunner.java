@@ -0,0 +1,41 @@
+package com.bank.transaction.benchmark;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks inside a started Quarkus application, so they exercise the real beans (Hibernate, CDI
+ * interceptors, Jackson and validator configuration) with the stubs in this package in place of the REST clients
+ * and the caller's JWT. Benchmarks run in-process (forks = 0) because they need this application instance.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test}. Extra JMH command line options can be passed through
+ * {@code -Djmh.args="..."}, e.g. {@code -Djmh.args="TransferBenchmark -wi 5 -i 10"}. Results, including the
+ * allocation rate from the gc profiler, are written to {@code target/jmh-result.json}.
+ */
+@QuarkusTest
+public class BenchmarkRunner {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        String args = System.getProperty("jmh.args", "").trim();
+        CommandLineOptions commandLine = new CommandLineOptions(args.isEmpty() ? new String[0] : args.split("\\s+"));
+
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .forks(0)
+                .warmupIterations(commandLine.getWarmupIterations().orElse(3))
+                .measurementIterations(commandLine.getMeasurementIterations().orElse(5))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import io.quarkus.test.Mock;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.math.BigDecimal;
+
+/**
+ * Account-service stand-in answering instantly, so benchmarks measure this service only.
+ */
+@Mock
+@ApplicationScoped
+@RestClient
+public class StubAccountServiceClient implements AccountServiceClient {
+
+    @Override
+    public Account getAccount(String accountNumber, String authorization) {
+        Account account = new Account();
+        account.accountId = accountNumber;
+        account.customerId = 123L;
+        account.balance = new BigDecimal("1000000.00");
+        account.type = "SAVINGS";
+        account.status = "ACTIVE";
+        return account;
+    }
+
+    @Override
+    public BalanceValidationResponse validateBalance(String accountNumber, BigDecimal amount, String authorization) {
+        BalanceValidationResponse response = new BalanceValidationResponse();
+        response.hasBalance = true;
+        return response;
+    }
+}
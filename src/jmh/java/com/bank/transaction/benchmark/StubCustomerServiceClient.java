@@ -0,0 +1,33 @@
+package com.bank.transaction.benchmark;
+
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import com.bank.transaction.client.customer.dto.Customer;
+import com.bank.transaction.client.customer.dto.CustomerValidationResponse;
+import io.quarkus.test.Mock;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+/**
+ * Customer-service stand-in answering instantly, so benchmarks measure this service only.
+ */
+@Mock
+@ApplicationScoped
+@RestClient
+public class StubCustomerServiceClient implements CustomerServiceClient {
+
+    @Override
+    public Customer getCustomer(Long id, String authorization) {
+        Customer customer = new Customer();
+        customer.id = id;
+        customer.status = "ACTIVE";
+        return customer;
+    }
+
+    @Override
+    public CustomerValidationResponse validateCustomer(Long id, String authorization) {
+        CustomerValidationResponse response = new CustomerValidationResponse();
+        response.valid = true;
+        response.customerId = id;
+        return response;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.transaction.benchmark;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.inject.Alternative;
+import org.eclipse.microprofile.jwt.Claims;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.util.Set;
+
+/**
+ * Caller token for benchmarks that call the service layer directly, outside an HTTP request. Ranked above the
+ * smallrye-jwt producer, which already has the priority {@code @Mock} would give.
+ */
+@Alternative
+@Priority(Integer.MAX_VALUE)
+@RequestScoped
+public class StubJsonWebToken implements JsonWebToken {
+
+    @Override
+    public String getName() {
+        return "benchmark";
+    }
+
+    @Override
+    public Set<String> getClaimNames() {
+        return Set.of(Claims.raw_token.name());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getClaim(String claimName) {
+        return Claims.raw_token.name().equals(claimName) ? (T) "benchmark-token" : null;
+    }
+}
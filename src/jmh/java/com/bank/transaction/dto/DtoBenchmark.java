@@ -0,0 +1,72 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.entity.TransactionStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.Arc;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the REST and Kafka payloads and bean validation of transfer requests, using the
+ * application's configured {@link ObjectMapper} and {@link Validator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DtoBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private TransactionResponse response;
+    private TransactionEvent event;
+    private TransferRequest validRequest;
+    private TransferRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Arc.container().instance(ObjectMapper.class).get();
+        validator = Arc.container().instance(Validator.class).get();
+
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        response = new TransactionResponse(1L, "123e4567-e89b-12d3-a456-426614174000", "BENCH-SOURCE",
+                "BENCH-TARGET", new BigDecimal("150.75"), timestamp, TransactionStatus.COMPLETED, "Benchmark transfer");
+        event = new TransactionEvent("123e4567-e89b-12d3-a456-426614174000", "BENCH-SOURCE", "BENCH-TARGET",
+                new BigDecimal("150.75"), timestamp, TransactionStatus.COMPLETED, "Benchmark transfer");
+
+        validRequest = new TransferRequest("BENCH-SOURCE", "BENCH-TARGET", new BigDecimal("150.75"), "Benchmark");
+        invalidRequest = new TransferRequest("", "BENCH-TARGET", new BigDecimal("-1.00"), "Benchmark");
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionEvent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TransferRequest>> validateValidTransferRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TransferRequest>> validateInvalidTransferRequest() {
+        return validator.validate(invalidRequest);
+    }
+}
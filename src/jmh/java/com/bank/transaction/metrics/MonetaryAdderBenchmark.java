@@ -0,0 +1,39 @@
+package com.bank.transaction.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contended updates of the {@code transactions.total.amount} total: the former CAS loop over an
+ * {@code AtomicReference<BigDecimal>} against {@link MonetaryAdder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class MonetaryAdderBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("150.75");
+
+    private final AtomicReference<BigDecimal> atomicTotal = new AtomicReference<>(BigDecimal.ZERO);
+    private final MonetaryAdder adderTotal = new MonetaryAdder(2);
+
+    @Benchmark
+    public BigDecimal atomicReference() {
+        return atomicTotal.updateAndGet(current -> current.add(AMOUNT));
+    }
+
+    @Benchmark
+    public void monetaryAdder() {
+        adderTotal.add(AMOUNT);
+    }
+}
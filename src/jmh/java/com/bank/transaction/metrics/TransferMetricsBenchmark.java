@@ -0,0 +1,50 @@
+package com.bank.transaction.metrics;
+
+import com.bank.transaction.metrics.TransferMetrics.Stage;
+import io.quarkus.arc.Arc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the stage and client timers on the application's Prometheus registry, against the bare call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransferMetricsBenchmark {
+
+    private TransferMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = Arc.container().instance(TransferMetrics.class).get();
+    }
+
+    @Benchmark
+    public void baseline(Blackhole blackhole) {
+        blackhole.consume(work(blackhole));
+    }
+
+    @Benchmark
+    public void stageTimer(Blackhole blackhole) {
+        blackhole.consume(metrics.time(Stage.PERSIST, () -> work(blackhole)));
+    }
+
+    @Benchmark
+    public void clientTimer(Blackhole blackhole) {
+        blackhole.consume(metrics.timeClient("account-service", "getAccount", () -> work(blackhole)));
+    }
+
+    private static Object work(Blackhole blackhole) {
+        Blackhole.consumeCPU(64);
+        return blackhole;
+    }
+}
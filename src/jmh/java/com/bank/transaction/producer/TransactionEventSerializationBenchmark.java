@@ -0,0 +1,70 @@
+package com.bank.transaction.producer;
+
+import com.bank.transaction.dto.TransactionEvent;
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.kafka.client.serialization.ObjectMapperDeserializer;
+import io.quarkus.kafka.client.serialization.ObjectMapperSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka value serialization of a completed {@link TransactionEvent}: the JSON {@link ObjectMapperSerializer} the
+ * channels use by default against {@link CompactTransactionEventSerializer}, both ways. Encoded sizes are printed
+ * at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionEventSerializationBenchmark {
+
+    private static final String TOPIC = "transactions.completed";
+
+    private final ObjectMapperSerializer<TransactionEvent> jsonSerializer = new ObjectMapperSerializer<>();
+    private final ObjectMapperDeserializer<TransactionEvent> jsonDeserializer =
+            new ObjectMapperDeserializer<>(TransactionEvent.class);
+    private final CompactTransactionEventSerializer compactSerializer = new CompactTransactionEventSerializer();
+    private final CompactTransactionEventDeserializer compactDeserializer = new CompactTransactionEventDeserializer();
+
+    private TransactionEvent event;
+    private byte[] json;
+    private byte[] compact;
+
+    @Setup
+    public void setUp() {
+        event = new TransactionEvent("123e4567-e89b-12d3-a456-426614174000", "BENCH-SOURCE", "BENCH-TARGET",
+                new BigDecimal("150.75"), LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_000_000),
+                TransactionStatus.COMPLETED, "Benchmark transfer");
+        json = jsonSerializer.serialize(TOPIC, event);
+        compact = compactSerializer.serialize(TOPIC, event);
+        System.out.printf("TransactionEvent size: JSON %d bytes, compact %d bytes%n", json.length, compact.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() {
+        return compactSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public TransactionEvent deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, json);
+    }
+
+    @Benchmark
+    public TransactionEvent deserializeCompact() {
+        return compactDeserializer.deserialize(TOPIC, compact);
+    }
+}
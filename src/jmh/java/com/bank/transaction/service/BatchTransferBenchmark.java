@@ -0,0 +1,82 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.BatchTransferResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.dto.TransferRequest;
+import com.bank.transaction.entity.OutboxEvent;
+import com.bank.transaction.entity.Transaction;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfers per second through {@link TransactionService#processTransferBatch} against the same transfers sent
+ * one by one through {@link TransactionService#processTransfer}, all debiting one payroll account, with stubbed
+ * account and customer services. Both scores count transfers, not calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchTransferBenchmark {
+
+    private static final int TRANSFERS = 200;
+
+    private TransactionService transactionService;
+    private List<TransferRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Arc.container().requestContext().activate();
+        transactionService = Arc.container().instance(TransactionService.class).get();
+
+        requests = new ArrayList<>(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            requests.add(new TransferRequest("BENCH-PAYROLL", "BENCH-EMPLOYEE-" + i, new BigDecimal("10.00"),
+                    "Benchmark payroll"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        // Keeps the in-memory database from growing across iterations
+        QuarkusTransaction.requiringNew().run(() -> {
+            OutboxEvent.deleteAll();
+            Transaction.deleteAll();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Arc.container().requestContext().terminate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRANSFERS)
+    public BatchTransferResponse batch() {
+        return transactionService.processTransferBatch(requests);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRANSFERS)
+    public void singleTransfers(Blackhole blackhole) {
+        for (TransferRequest request : requests) {
+            TransactionResponse response = transactionService.processTransfer(request);
+            blackhole.consume(response);
+        }
+    }
+}
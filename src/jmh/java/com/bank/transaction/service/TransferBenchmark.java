@@ -0,0 +1,74 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.dto.TransferRequest;
+import com.bank.transaction.entity.OutboxEvent;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transfer hot path: {@link TransactionService#processTransfer} end to end (validation stage, insert, outbox) with
+ * stubbed account and customer services, and the entity to response mapping.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransferBenchmark {
+
+    private TransactionService transactionService;
+    private TransactionService mapper;
+    private TransferRequest request;
+    private Transaction transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Arc.container().requestContext().activate();
+        transactionService = Arc.container().instance(TransactionService.class).get();
+        mapper = new TransactionService();
+
+        request = new TransferRequest("BENCH-SOURCE", "BENCH-TARGET", new BigDecimal("10.00"), "Benchmark transfer");
+
+        transaction = new Transaction("bench-transaction", "BENCH-SOURCE", "BENCH-TARGET",
+                new BigDecimal("10.00"), "Benchmark transfer");
+        transaction.id = 1L;
+        transaction.status = TransactionStatus.COMPLETED;
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        // Keeps the in-memory database from growing across iterations
+        QuarkusTransaction.requiringNew().run(() -> {
+            OutboxEvent.deleteAll();
+            Transaction.deleteAll();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Arc.container().requestContext().terminate();
+    }
+
+    @Benchmark
+    public TransactionResponse processTransfer() {
+        return transactionService.processTransfer(request);
+    }
+
+    @Benchmark
+    public TransactionResponse mapToResponse() {
+        return mapper.mapToResponse(transaction);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bank.transaction.service;
+
+import org.jboss.logging.Logger;
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.formatters.JsonFormatter;
+import org.jboss.logmanager.formatters.PatternFormatter;
+import org.jboss.logmanager.handlers.AsyncHandler;
+import org.jboss.logmanager.handlers.OutputStreamHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Logging cost per transfer: the former four synchronous INFO lines, the same lines through the async JSON console
+ * handler, and the current level-guarded DEBUG lines with sampled INFO on success. Handlers write to a discarding
+ * stream, so device I/O, which only widens the gap for the synchronous handler, is not part of the figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class TransferLoggingBenchmark {
+
+    private static final String SOURCE = "ACC-1001";
+    private static final String TARGET = "ACC-2002";
+    private static final BigDecimal AMOUNT = new BigDecimal("150.75");
+    private static final String TRANSACTION_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    private Logger syncLogger;
+    private Logger asyncLogger;
+    private ExtHandler syncHandler;
+    private AsyncHandler asyncHandler;
+    private TransferLogSampler sampler;
+
+    @Setup
+    public void setUp() {
+        syncHandler = new OutputStreamHandler(OutputStream.nullOutputStream(),
+                new PatternFormatter("%d{yyyy-MM-dd HH:mm:ss,SSS} %-5p [%c{3.}] (%t) %s%e%n"));
+        syncLogger = logger("benchmark.logging.sync", syncHandler);
+
+        asyncHandler = new AsyncHandler(4096);
+        asyncHandler.setOverflowAction(AsyncHandler.OverflowAction.DISCARD);
+        asyncHandler.addHandler(new OutputStreamHandler(OutputStream.nullOutputStream(), new JsonFormatter()));
+        asyncLogger = logger("benchmark.logging.async", asyncHandler);
+
+        sampler = new TransferLogSampler();
+        sampler.successSampleRate = 100;
+    }
+
+    @TearDown
+    public void tearDown() {
+        syncHandler.close();
+        asyncHandler.close();
+    }
+
+    @Benchmark
+    public void synchronousInfo() {
+        everyLineAtInfo(syncLogger);
+    }
+
+    @Benchmark
+    public void asyncJsonInfo() {
+        everyLineAtInfo(asyncLogger);
+    }
+
+    @Benchmark
+    public void guardedDebugWithSampledInfo() {
+        if (asyncLogger.isDebugEnabled()) {
+            asyncLogger.debugf("Processing transfer request from %s to %s, amount: %s", SOURCE, TARGET, AMOUNT);
+        }
+        if (asyncLogger.isDebugEnabled()) {
+            asyncLogger.debugf("Processing transfer from %s to %s, amount: %s", SOURCE, TARGET, AMOUNT);
+        }
+        if (asyncLogger.isDebugEnabled()) {
+            asyncLogger.debugf("Publishing transaction completed event for transaction: %s", TRANSACTION_ID);
+        }
+        if (sampler.sample()) {
+            asyncLogger.infof("Transaction completed successfully: %s (1 in %d logged)", TRANSACTION_ID, sampler.rate());
+        } else if (asyncLogger.isDebugEnabled()) {
+            asyncLogger.debugf("Transaction completed successfully: %s", TRANSACTION_ID);
+        }
+    }
+
+    private static void everyLineAtInfo(Logger logger) {
+        logger.infof("Processing transfer request from %s to %s, amount: %s", SOURCE, TARGET, AMOUNT);
+        logger.infof("Processing transfer from %s to %s, amount: %s", SOURCE, TARGET, AMOUNT);
+        logger.infof("Publishing transaction completed event for transaction: %s", TRANSACTION_ID);
+        logger.infof("Transaction completed successfully: %s", TRANSACTION_ID);
+    }
+
+    private static Logger logger(String category, ExtHandler handler) {
+        org.jboss.logmanager.Logger delegate = org.jboss.logmanager.Logger.getLogger(category);
+        delegate.setUseParentHandlers(false);
+        delegate.setLevel(Level.INFO);
+        delegate.addHandler(handler);
+        return Logger.getLogger(category);
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.transaction.client;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.rest.client.ext.ResponseExceptionMapper;
+
+/**
+ * Maps 5xx answers of the downstream services to {@link DownstreamServiceException}. Other error statuses are left
+ * to the default mapper.
+ */
+public class DownstreamErrorMapper implements ResponseExceptionMapper<DownstreamServiceException> {
+
+    @Override
+    public boolean handles(int status, MultivaluedMap<String, Object> headers) {
+        return status >= 500;
+    }
+
+    @Override
+    public DownstreamServiceException toThrowable(Response response) {
+        return new DownstreamServiceException("Downstream service responded with status " + response.getStatus(),
+                response.getStatus());
+    }
+}
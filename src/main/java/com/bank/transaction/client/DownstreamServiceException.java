@@ -0,0 +1,15 @@
+package com.bank.transaction.client;
+
+/**
+ * Thrown by the downstream REST clients when a service answers with a 5xx status. Unlike 4xx answers, which reject
+ * the request itself, these count as failures towards the clients' circuit breakers and are retried on reads.
+ */
+public class DownstreamServiceException extends RuntimeException {
+
+    public final int status;
+
+    public DownstreamServiceException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+}
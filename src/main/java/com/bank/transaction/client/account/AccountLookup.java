@@ -0,0 +1,101 @@
+package com.bank.transaction.client.account;
+
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.metrics.TransferMetrics;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+/**
+ * Short-lived cache in front of {@link AccountServiceClient#getAccount}. Account status and owner rarely change,
+ * while a few hot target accounts take most of the traffic. Concurrent lookups of the same account share a single
+ * in-flight call. Failed lookups are not cached. Balance validation is deliberately not routed through here.
+ * <p>
+ * Entries are keyed by account only: the status, owner and balance of an account do not depend on who asks, so a
+ * biller paid by many callers is fetched once per TTL rather than once per payer. Only accounts a transfer pays into
+ * are served from the cache. An account the caller debits is always fetched with the caller's authorization
+ * ({@link #getDebitedAccount}), so account-service authorizes every request against its source account even when the
+ * balance check is answered locally. TTL and size are configured under {@code quarkus.cache.caffeine.accounts}, and
+ * the hit rate is exported as {@code cache.gets{cache=accounts}}.
+ */
+@ApplicationScoped
+public class AccountLookup {
+
+    @Inject
+    @RestClient
+    AccountServiceClient accountServiceClient;
+
+    @Inject
+    @RestClient
+    ReactiveAccountServiceClient reactiveAccountServiceClient;
+
+    @Inject
+    TransferMetrics metrics;
+
+    @Inject
+    @CacheName("accounts")
+    Cache cache;
+
+    @ConfigProperty(name = "transaction.account-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    /**
+     * An account the caller pays into, possibly served from the cache.
+     */
+    public Account getAccount(String accountId, String authorization) {
+        if (!enabled) {
+            return fetch(accountId, authorization);
+        }
+        return cache.get(accountId, id -> fetch(id, authorization))
+                .await().indefinitely();
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAccount}, sharing the same cache entries.
+     */
+    public Uni<Account> getAccountAsync(String accountId, String authorization) {
+        if (!enabled) {
+            return fetchAsync(accountId, authorization);
+        }
+        return cache.getAsync(accountId, id -> fetchAsync(id, authorization));
+    }
+
+    /**
+     * An account the caller debits, always fetched from account-service with the caller's authorization.
+     */
+    public Account getDebitedAccount(String accountId, String authorization) {
+        return fetch(accountId, authorization);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getDebitedAccount}.
+     */
+    public Uni<Account> getDebitedAccountAsync(String accountId, String authorization) {
+        return fetchAsync(accountId, authorization);
+    }
+
+    private Uni<Account> fetchAsync(String accountId, String authorization) {
+        return metrics.timeClient("account-service", "getAccount",
+                        reactiveAccountServiceClient.getAccount(accountId, authorization))
+                .onItem().invoke(account -> account.fetchedAt = System.nanoTime());
+    }
+
+    private Account fetch(String accountId, String authorization) {
+        Account account = metrics.timeClient("account-service", "getAccount",
+                () -> accountServiceClient.getAccount(accountId, authorization));
+        account.fetchedAt = System.nanoTime();
+        return account;
+    }
+
+    public void invalidate(String accountId) {
+        cache.invalidate(accountId).await().indefinitely();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll().await().indefinitely();
+    }
+}
@@ -2,23 +2,43 @@ package com.bank.transaction.client.account;
 
 import com.bank.transaction.client.account.dto.Account;
 import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.DownstreamErrorMapper;
+import com.bank.transaction.client.DownstreamServiceException;
+import io.smallrye.faulttolerance.api.ExponentialBackoff;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 import java.math.BigDecimal;
 
+/**
+ * Each call is isolated by its own bulkhead and by a circuit breaker that counts 5xx answers and I/O failures,
+ * including the connect and read timeouts configured under {@code quarkus.rest-client}. Reads are retried with
+ * jittered exponential backoff. The balance check is a POST and is never retried. Bulkhead, breaker and retry
+ * settings are configured under {@code quarkus.fault-tolerance}.
+ */
 @Path("/api/accounts")
 @RegisterRestClient(configKey = "account-service")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@RegisterProvider(DownstreamErrorMapper.class)
 public interface AccountServiceClient {
 
     @GET
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
+    @Retry(retryOn = {DownstreamServiceException.class, ProcessingException.class})
+    @ExponentialBackoff
     @Path("/{accountNumber}")
-    Account getAccount(@PathParam("accountId") String accountNumber,
+    Account getAccount(@PathParam("accountNumber") String accountNumber,
                        @HeaderParam("Authorization") String authorization);
 
     @POST
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
     @Path("/{accountNumber}/validate-balance")
     BalanceValidationResponse validateBalance(@PathParam("accountNumber") String accountNumber,
                                               @QueryParam("amount") BigDecimal amount,
@@ -0,0 +1,46 @@
+package com.bank.transaction.client.account;
+
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.DownstreamErrorMapper;
+import com.bank.transaction.client.DownstreamServiceException;
+import io.smallrye.faulttolerance.api.ExponentialBackoff;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking counterpart of {@link AccountServiceClient} used by the reactive validation engine, sharing its
+ * configuration.
+ */
+@Path("/api/accounts")
+@RegisterRestClient(configKey = "account-service")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@RegisterProvider(DownstreamErrorMapper.class)
+public interface ReactiveAccountServiceClient {
+
+    @GET
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
+    @Retry(retryOn = {DownstreamServiceException.class, ProcessingException.class})
+    @ExponentialBackoff
+    @Path("/{accountNumber}")
+    Uni<Account> getAccount(@PathParam("accountNumber") String accountNumber,
+                            @HeaderParam("Authorization") String authorization);
+
+    @POST
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
+    @Path("/{accountNumber}/validate-balance")
+    Uni<BalanceValidationResponse> validateBalance(@PathParam("accountNumber") String accountNumber,
+                                                   @QueryParam("amount") BigDecimal amount,
+                                                   @HeaderParam("Authorization") String authorization);
+
+}
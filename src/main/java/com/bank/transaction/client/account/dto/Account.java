@@ -1,11 +1,18 @@
 package com.bank.transaction.client.account.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
 import java.math.BigDecimal;
 
+@RegisterForReflection
 public class Account {
   public String accountId;
   public Long customerId;
   public BigDecimal balance;
   public String type;
   public String status;
+  // System.nanoTime() when AccountLookup read the account from account-service, not part of the payload
+  @JsonIgnore
+  public long fetchedAt;
 }
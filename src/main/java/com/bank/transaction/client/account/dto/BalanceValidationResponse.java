@@ -1,5 +1,8 @@
 package com.bank.transaction.client.account.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class BalanceValidationResponse {
   public boolean hasBalance;
 }
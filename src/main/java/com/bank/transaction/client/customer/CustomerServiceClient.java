@@ -2,22 +2,44 @@ package com.bank.transaction.client.customer;
 
 import com.bank.transaction.client.customer.dto.Customer;
 import com.bank.transaction.client.customer.dto.CustomerValidationResponse;
+import com.bank.transaction.client.DownstreamErrorMapper;
+import com.bank.transaction.client.DownstreamServiceException;
+import io.smallrye.faulttolerance.api.ExponentialBackoff;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
+/**
+ * Each call is isolated by its own bulkhead and by a circuit breaker that counts 5xx answers and I/O failures,
+ * including the connect and read timeouts configured under {@code quarkus.rest-client}. Reads are retried with
+ * jittered exponential backoff. Bulkhead, breaker and retry settings are configured under
+ * {@code quarkus.fault-tolerance}.
+ */
 @Path("/api/customers")
 @RegisterRestClient(configKey = "customer-service")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@RegisterProvider(DownstreamErrorMapper.class)
 public interface CustomerServiceClient {
 
     @GET
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
+    @Retry(retryOn = {DownstreamServiceException.class, ProcessingException.class})
+    @ExponentialBackoff
     @Path("/{id}")
     Customer getCustomer(@PathParam("id") Long id,
                          @HeaderParam("Authorization") String authorization);
 
     @GET
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
+    @Retry(retryOn = {DownstreamServiceException.class, ProcessingException.class})
+    @ExponentialBackoff
     @Path("/{id}/validate")
     CustomerValidationResponse validateCustomer(@PathParam("id") Long id,
                                                 @HeaderParam("Authorization") String authorization);
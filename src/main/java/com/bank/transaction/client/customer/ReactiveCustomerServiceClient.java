@@ -0,0 +1,46 @@
+package com.bank.transaction.client.customer;
+
+import com.bank.transaction.client.customer.dto.Customer;
+import com.bank.transaction.client.customer.dto.CustomerValidationResponse;
+import com.bank.transaction.client.DownstreamErrorMapper;
+import com.bank.transaction.client.DownstreamServiceException;
+import io.smallrye.faulttolerance.api.ExponentialBackoff;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.rest.client.annotation.RegisterProvider;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+/**
+ * Non-blocking counterpart of {@link CustomerServiceClient} used by the reactive validation engine, sharing its
+ * configuration.
+ */
+@Path("/api/customers")
+@RegisterRestClient(configKey = "customer-service")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@RegisterProvider(DownstreamErrorMapper.class)
+public interface ReactiveCustomerServiceClient {
+
+    @GET
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
+    @Retry(retryOn = {DownstreamServiceException.class, ProcessingException.class})
+    @ExponentialBackoff
+    @Path("/{id}")
+    Uni<Customer> getCustomer(@PathParam("id") Long id,
+                              @HeaderParam("Authorization") String authorization);
+
+    @GET
+    @Bulkhead
+    @CircuitBreaker(failOn = {DownstreamServiceException.class, ProcessingException.class})
+    @Retry(retryOn = {DownstreamServiceException.class, ProcessingException.class})
+    @ExponentialBackoff
+    @Path("/{id}/validate")
+    Uni<CustomerValidationResponse> validateCustomer(@PathParam("id") Long id,
+                                                     @HeaderParam("Authorization") String authorization);
+
+}
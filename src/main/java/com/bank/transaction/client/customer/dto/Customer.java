@@ -1,5 +1,8 @@
 package com.bank.transaction.client.customer.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class Customer {
   public Long id;
   public String name;
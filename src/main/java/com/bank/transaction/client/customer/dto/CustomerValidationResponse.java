@@ -1,5 +1,8 @@
 package com.bank.transaction.client.customer.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class CustomerValidationResponse {
 
   public boolean valid;
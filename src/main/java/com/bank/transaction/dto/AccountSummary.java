@@ -0,0 +1,63 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Inflow and outflow of an account between two dates, per day or month and transfer status, followed by the
+ * totals of the whole range.
+ */
+@RegisterForReflection
+public class AccountSummary {
+
+    public enum Granularity {
+        DAY,
+        MONTH
+    }
+
+    public String accountId;
+    public LocalDate from;
+    public LocalDate to;
+    public Granularity granularity;
+    // Periods with transfers only, oldest first
+    public List<Period> periods;
+    public List<Totals> totals;
+
+    public AccountSummary() {}
+
+    public AccountSummary(String accountId, LocalDate from, LocalDate to, Granularity granularity,
+                          List<Period> periods, List<Totals> totals) {
+        this.accountId = accountId;
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.periods = periods;
+        this.totals = totals;
+    }
+
+    @RegisterForReflection
+    public static class Flow {
+        public long count;
+        public BigDecimal total = BigDecimal.ZERO;
+        // Null without transfers
+        public BigDecimal min;
+        public BigDecimal max;
+    }
+
+    @RegisterForReflection
+    public static class Totals {
+        public TransactionStatus status;
+        public Flow inflow = new Flow();
+        public Flow outflow = new Flow();
+    }
+
+    @RegisterForReflection
+    public static class Period extends Totals {
+        // First day of the period
+        public LocalDate start;
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.transaction.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+@RegisterForReflection
+public class BatchTransferResponse {
+
+    public int total;
+    public int completed;
+    public int failed;
+    public List<BatchTransferResult> results;
+
+    public BatchTransferResponse() {}
+
+    public BatchTransferResponse(List<BatchTransferResult> results, int completed) {
+        this.total = results.size();
+        this.completed = completed;
+        this.failed = results.size() - completed;
+        this.results = results;
+    }
+}
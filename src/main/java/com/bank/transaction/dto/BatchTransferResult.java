@@ -0,0 +1,27 @@
+package com.bank.transaction.dto;
+
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class BatchTransferResult {
+
+    public int index;
+    public TransactionStatus status;
+    public TransactionResponse transaction;
+    public String errorMessage;
+
+    public BatchTransferResult() {}
+
+    public BatchTransferResult(int index, TransactionResponse transaction) {
+        this.index = index;
+        this.status = transaction.status;
+        this.transaction = transaction;
+    }
+
+    public BatchTransferResult(int index, String errorMessage) {
+        this.index = index;
+        this.status = TransactionStatus.FAILED;
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.transaction.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of the latest rollup rebuild, which runs in the background.
+ */
+@RegisterForReflection
+public class RollupRebuildStatus {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        // Some chunks could not be rebuilt, see failedChunks; the other chunks were
+        FAILED
+    }
+
+    public State state;
+    // Days rebuilt, both inclusive, null when there were no transactions to rebuild from
+    public LocalDate from;
+    public LocalDate to;
+    public int chunks;
+    public int completedChunks;
+    // First day of each chunk that failed, oldest first; rebuilding those days again retries them
+    public List<LocalDate> failedChunks;
+    public long rows;
+    public LocalDateTime startedAt;
+    public LocalDateTime finishedAt;
+
+    public RollupRebuildStatus() {}
+
+    public RollupRebuildStatus(State state, LocalDate from, LocalDate to, int chunks, int completedChunks,
+                               List<LocalDate> failedChunks, long rows, LocalDateTime startedAt,
+                               LocalDateTime finishedAt) {
+        this.state = state;
+        this.from = from;
+        this.to = to;
+        this.chunks = chunks;
+        this.completedChunks = completedChunks;
+        this.failedChunks = failedChunks;
+        this.rows = rows;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+}
@@ -1,9 +1,11 @@
 package com.bank.transaction.dto;
 
 import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+@RegisterForReflection
 public class TransactionEvent {
 
     public String transactionId;
@@ -0,0 +1,19 @@
+package com.bank.transaction.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+@RegisterForReflection
+public class TransactionPage {
+
+    public List<TransactionResponse> items;
+    public String next;
+
+    public TransactionPage() {}
+
+    public TransactionPage(List<TransactionResponse> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+}
@@ -0,0 +1,95 @@
+package com.bank.transaction.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Count, total, smallest and largest amount of the transfers into or out of an account on one day, per status.
+ * Maintained by {@code TransactionRollups}; rows are only written through its upserts.
+ */
+@Entity
+@Table(name = "account_daily_rollups")
+@IdClass(AccountDailyRollup.Key.class)
+public class AccountDailyRollup extends PanacheEntityBase {
+
+    public enum Direction {
+        /** The account is the transfer's target. */
+        IN,
+        /** The account is the transfer's source. */
+        OUT
+    }
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    public String accountId;
+
+    @Id
+    @Column(name = "rollup_date", nullable = false)
+    public LocalDate date;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    public TransactionStatus status;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    public Direction direction;
+
+    @NotNull
+    @Column(name = "transfer_count", nullable = false)
+    public long count;
+
+    @NotNull
+    @Column(name = "total_amount", precision = 19, scale = 2, nullable = false)
+    public BigDecimal total;
+
+    @NotNull
+    @Column(name = "min_amount", precision = 19, scale = 2, nullable = false)
+    public BigDecimal min;
+
+    @NotNull
+    @Column(name = "max_amount", precision = 19, scale = 2, nullable = false)
+    public BigDecimal max;
+
+    public static class Key implements Serializable {
+        public String accountId;
+        public LocalDate date;
+        public TransactionStatus status;
+        public Direction direction;
+
+        public Key() {}
+
+        public Key(String accountId, LocalDate date, TransactionStatus status, Direction direction) {
+            this.accountId = accountId;
+            this.date = date;
+            this.status = status;
+            this.direction = direction;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(accountId, key.accountId) && Objects.equals(date, key.date)
+                    && status == key.status && direction == key.direction;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, date, status, direction);
+        }
+    }
+
+    /**
+     * The account's rollups from {@code from} to {@code to}, both inclusive, served by the primary key.
+     */
+    public static List<AccountDailyRollup> findByAccountId(String accountId, LocalDate from, LocalDate to) {
+        return list("accountId = ?1 and date >= ?2 and date <= ?3", accountId, from, to);
+    }
+}
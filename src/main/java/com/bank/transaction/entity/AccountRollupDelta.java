@@ -0,0 +1,106 @@
+package com.bank.transaction.entity;
+
+import com.bank.transaction.entity.AccountDailyRollup.Direction;
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.Timeouts;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Transfers of one database transaction into or out of an account on one day, per status, not yet folded into
+ * {@link AccountDailyRollup}. Transfers only ever insert these rows, so concurrent transfers on the same account
+ * never wait on each other's rollup rows; {@code TransactionRollups} folds them into the daily rollups in the
+ * background.
+ */
+@Entity
+@Table(name = "account_rollup_deltas", indexes = {
+    @Index(name = "idx_account_rollup_deltas_account_date", columnList = "account_id, rollup_date")
+})
+public class AccountRollupDelta extends PanacheEntity {
+
+    @NotNull
+    @Column(name = "account_id", nullable = false)
+    public String accountId;
+
+    @NotNull
+    @Column(name = "rollup_date", nullable = false)
+    public LocalDate date;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    public TransactionStatus status;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    public Direction direction;
+
+    @NotNull
+    @Column(name = "transfer_count", nullable = false)
+    public long count;
+
+    @NotNull
+    @Column(name = "total_amount", precision = 19, scale = 2, nullable = false)
+    public BigDecimal total;
+
+    @NotNull
+    @Column(name = "min_amount", precision = 19, scale = 2, nullable = false)
+    public BigDecimal min;
+
+    @NotNull
+    @Column(name = "max_amount", precision = 19, scale = 2, nullable = false)
+    public BigDecimal max;
+
+    public AccountRollupDelta() {}
+
+    public AccountRollupDelta(AccountDailyRollup rollup) {
+        this.accountId = rollup.accountId;
+        this.date = rollup.date;
+        this.status = rollup.status;
+        this.direction = rollup.direction;
+        this.count = rollup.count;
+        this.total = rollup.total;
+        this.min = rollup.min;
+        this.max = rollup.max;
+    }
+
+    public AccountDailyRollup toRollup() {
+        AccountDailyRollup rollup = new AccountDailyRollup();
+        rollup.accountId = accountId;
+        rollup.date = date;
+        rollup.status = status;
+        rollup.direction = direction;
+        rollup.count = count;
+        rollup.total = total;
+        rollup.min = min;
+        rollup.max = max;
+        return rollup;
+    }
+
+    /**
+     * Oldest deltas, locked for the current transaction. Rows already locked by another instance folding them are
+     * skipped rather than waited on.
+     */
+    public static List<AccountRollupDelta> lockOldest(int limit) {
+        return find("order by id")
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .withHint("jakarta.persistence.lock.timeout", Timeouts.SKIP_LOCKED_MILLI)
+                .page(0, limit)
+                .list();
+    }
+
+    /**
+     * The account's unfolded deltas from {@code from} to {@code to}, both inclusive.
+     */
+    public static List<AccountRollupDelta> findByAccountId(String accountId, LocalDate from, LocalDate to) {
+        return list("accountId = ?1 and date >= ?2 and date <= ?3", accountId, from, to);
+    }
+
+    public static long deleteByIds(List<Long> ids) {
+        return delete("id in ?1", ids);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bank.transaction.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.Timeouts;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Table(name = "transaction_outbox", indexes = {
+    @Index(name = "idx_transaction_outbox_sent_at", columnList = "sent_at, id")
+})
+public class OutboxEvent extends PanacheEntity {
+
+    @NotNull
+    @Column(nullable = false, length = 64)
+    public String channel;
+
+    @NotNull
+    @Column(name = "transaction_id", nullable = false)
+    public String transactionId;
+
+    // Plain text rather than @Lob, which PostgreSQL stores as a large object that deleting the row leaves behind
+    @NotNull
+    @Column(nullable = false, columnDefinition = "text")
+    public String payload;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    public LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    public LocalDateTime sentAt;
+
+    // Set instead of sentAt when the event can never be sent, e.g. an unreadable payload
+    @Column(name = "failed_at")
+    public LocalDateTime failedAt;
+
+    @Column(length = 1000)
+    public String failure;
+
+    public OutboxEvent() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public OutboxEvent(String channel, String transactionId, String payload) {
+        this();
+        this.channel = channel;
+        this.transactionId = transactionId;
+        this.payload = payload;
+    }
+
+    /**
+     * Oldest unsent events, locked for the current transaction. Rows already locked by another relay instance
+     * are skipped rather than waited on.
+     */
+    public static List<OutboxEvent> lockUnsent(int limit) {
+        return find("sentAt is null and failedAt is null order by id")
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .withHint("jakarta.persistence.lock.timeout", Timeouts.SKIP_LOCKED_MILLI)
+                .page(0, limit)
+                .list();
+    }
+
+    public static long countUnsent() {
+        return count("sentAt is null and failedAt is null");
+    }
+
+    public static int markSent(List<Long> ids, LocalDateTime sentAt) {
+        return update("sentAt = ?1 where id in ?2", sentAt, ids);
+    }
+
+    /**
+     * Dead-lettered events, which stay in the outbox until removed by hand.
+     */
+    public static long countFailed() {
+        return count("failedAt is not null");
+    }
+
+    public static long deleteSentBefore(LocalDateTime threshold) {
+        return delete("sentAt < ?1", threshold);
+    }
+}
@@ -5,16 +5,39 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.jpa.HibernateHints;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_transaction_id", columnList = "transaction_id"),
+    @Index(name = "idx_transactions_source_timestamp", columnList = "source_account_id, timestamp desc, id desc"),
+    @Index(name = "idx_transactions_target_timestamp", columnList = "target_account_id, timestamp desc, id desc")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_transactions_idempotency_key", columnNames = {"idempotency_owner", "idempotency_key"})
+})
 public class Transaction extends PanacheEntity {
 
+    // Account history is read as two index range scans (outgoing, incoming) merged by timestamp instead of an
+    // OR filter, which the planner can only answer with a sequential scan. A transfer never has the same source
+    // and target account, so UNION ALL cannot return a row twice. Native SQL because HQL cannot order a union
+    // of entity selects.
+    private static final String ACCOUNT_HISTORY =
+        "select * from transactions where source_account_id = ?1 %1$s"
+        + " union all select * from transactions where target_account_id = ?1 %1$s"
+        + " order by timestamp desc, id desc";
+
+    // The separate timestamp bound lets the index scans start at the position and, when the table is partitioned
+    // by month, skips the partitions newer than it
+    private static final String AFTER_POSITION = "and timestamp <= ?2 and (timestamp < ?2 or id < ?3)";
+
+    // Generated by the service as a UUID, so not declared unique: a partitioned table could only enforce it together
+    // with the timestamp (db/schema.sql, db/transactions-partitioned.sql)
     @NotNull
-    @Column(name = "transaction_id", unique = true, nullable = false)
+    @Column(name = "transaction_id", nullable = false)
     public String transactionId;
 
     @NotNull
@@ -43,6 +66,15 @@ public class Transaction extends PanacheEntity {
     @Column(length = 255)
     public String description;
 
+    // Idempotency keys are chosen by clients, so they are only unique per caller (idempotencyOwner)
+    @Size(max = 255)
+    @Column(name = "idempotency_key", length = 255)
+    public String idempotencyKey;
+
+    @Size(max = 255)
+    @Column(name = "idempotency_owner", length = 255)
+    public String idempotencyOwner;
+
     public Transaction() {
         this.timestamp = LocalDateTime.now();
         this.status = TransactionStatus.PENDING;
@@ -61,7 +93,51 @@ public class Transaction extends PanacheEntity {
         return find("transactionId", transactionId).firstResult();
     }
 
+    public static Transaction findByIdempotencyKey(String owner, String idempotencyKey) {
+        return find("idempotencyOwner = ?1 and idempotencyKey = ?2", owner, idempotencyKey).firstResult();
+    }
+
     public static List<Transaction> findByAccountId(String accountId) {
-        return find("sourceAccountId = ?1 or targetAccountId = ?1 order by timestamp desc", accountId).list();
+        return accountHistory(false, accountId).getResultList();
+    }
+
+    /**
+     * Keyset page of an account's history, newest first. Starts after the (timestamp, id) position of the
+     * previous page's last row, or from the newest row when {@code afterTimestamp} is null.
+     */
+    public static List<Transaction> findPageByAccountId(String accountId, LocalDateTime afterTimestamp,
+                                                        Long afterId, int limit) {
+        TypedQuery<Transaction> query = afterTimestamp == null
+            ? accountHistory(false, accountId)
+            : accountHistory(true, accountId, afterTimestamp, afterId);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Streams an account's history, newest first, reading {@code fetchSize} rows per round-trip.
+     * Must be consumed inside a transaction.
+     */
+    public static Stream<Transaction> streamByAccountId(String accountId, int fetchSize) {
+        return accountHistory(false, accountId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * The native account history query, with the account as parameter ?1 and, when {@code afterPosition}, the
+     * (timestamp, id) position as ?2 and ?3.
+     */
+    public static String accountHistoryQuery(boolean afterPosition) {
+        return ACCOUNT_HISTORY.formatted(afterPosition ? AFTER_POSITION : "");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypedQuery<Transaction> accountHistory(boolean afterPosition, Object... params) {
+        Query query = getEntityManager().createNativeQuery(accountHistoryQuery(afterPosition), Transaction.class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        return (TypedQuery<Transaction>) query;
     }
 }
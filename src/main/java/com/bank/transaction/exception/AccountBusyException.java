@@ -0,0 +1,26 @@
+package com.bank.transaction.exception;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * A transfer gave up waiting for the lock of its source account, held by other transfers on the same account for
+ * longer than {@code transaction.account-locks.timeout}. Answered with 409 so callers retry the transfer later.
+ */
+public class AccountBusyException extends RuntimeException {
+
+    public AccountBusyException(String message) {
+        super(message);
+    }
+
+    @Provider
+    public static class AccountBusyExceptionMapper implements ExceptionMapper<AccountBusyException> {
+        @Override
+        public Response toResponse(AccountBusyException exception) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new InvalidTransactionException.ErrorResponse("ACCOUNT_BUSY", exception.getMessage()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transaction.exception;
+
+import com.bank.transaction.client.DownstreamServiceException;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+
+/**
+ * A transfer could not be validated because a downstream service failed, timed out, or was short-circuited by its
+ * circuit breaker or bulkhead. Answered with 503 so callers retry later rather than treat the transfer as invalid.
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Whether {@code e}, or any of its causes, is a downstream outage rather than a rejection of the request.
+     */
+    public static boolean isCause(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DownstreamServiceException
+                    || t instanceof ProcessingException
+                    || t instanceof FaultToleranceException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Provider
+    public static class DownstreamUnavailableExceptionMapper implements ExceptionMapper<DownstreamUnavailableException> {
+        @Override
+        public Response toResponse(DownstreamUnavailableException exception) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(new InvalidTransactionException.ErrorResponse("DOWNSTREAM_UNAVAILABLE",
+                            exception.getMessage()))
+                    .build();
+        }
+    }
+}
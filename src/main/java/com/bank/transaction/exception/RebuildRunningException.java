@@ -0,0 +1,26 @@
+package com.bank.transaction.exception;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * A rollup rebuild was requested while another one is still running on this instance. Answered with 409, as the
+ * request itself is valid and can be repeated once the running rebuild has finished.
+ */
+public class RebuildRunningException extends RuntimeException {
+
+    public RebuildRunningException(String message) {
+        super(message);
+    }
+
+    @Provider
+    public static class RebuildRunningExceptionMapper implements ExceptionMapper<RebuildRunningException> {
+        @Override
+        public Response toResponse(RebuildRunningException exception) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new InvalidTransactionException.ErrorResponse("REBUILD_RUNNING", exception.getMessage()))
+                    .build();
+        }
+    }
+}
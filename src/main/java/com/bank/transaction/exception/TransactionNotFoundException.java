@@ -1,5 +1,6 @@
 package com.bank.transaction.exception;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -24,6 +25,7 @@ public class TransactionNotFoundException extends RuntimeException {
         }
     }
 
+    @RegisterForReflection
     public static class ErrorResponse {
         public String code;
         public String message;
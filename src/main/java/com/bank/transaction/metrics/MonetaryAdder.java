@@ -0,0 +1,47 @@
+package com.bank.transaction.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exact running total of monetary amounts for hot, concurrently updated metrics.
+ * <p>
+ * Amounts are accumulated as a count of minor units (cents at scale 2) in a {@link LongAdder}, so concurrent adds
+ * land on separate cells instead of retrying a compare-and-set over a shared {@link BigDecimal}. Amounts with more
+ * decimal places than the scale, or too large for a {@code long} of minor units, are kept exactly on a slower
+ * {@link BigDecimal} path. The two are only combined on {@link #sum()}.
+ */
+public class MonetaryAdder {
+
+    private final int scale;
+    private final LongAdder units = new LongAdder();
+    private final AtomicReference<BigDecimal> remainder = new AtomicReference<>(BigDecimal.ZERO);
+
+    public MonetaryAdder(int scale) {
+        this.scale = scale;
+    }
+
+    public void add(BigDecimal amount) {
+        if (amount.scale() <= scale) {
+            try {
+                units.add(amount.movePointRight(scale).longValueExact());
+                return;
+            } catch (ArithmeticException e) {
+                // Does not fit in a long of minor units, fall through to the exact path
+            }
+        }
+        remainder.accumulateAndGet(amount, BigDecimal::add);
+    }
+
+    /**
+     * Current total. Not an atomic snapshot while adds are in progress, like {@link LongAdder#sum()}.
+     */
+    public BigDecimal sum() {
+        return BigDecimal.valueOf(units.sum(), scale).add(remainder.get());
+    }
+
+    public double doubleValue() {
+        return sum().doubleValue();
+    }
+}
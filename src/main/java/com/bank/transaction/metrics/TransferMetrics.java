@@ -0,0 +1,230 @@
+package com.bank.transaction.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency timers for the stages of a transfer ({@code transactions.transfer.stage}) and for the calls to the
+ * downstream services ({@code transactions.client.requests}), tagged by outcome and exception type.
+ * <p>
+ * Timers publish a percentile histogram plus the SLO buckets from {@code transaction.metrics.slo}. They are
+ * resolved once per tag combination and cached, so the per-call cost is two {@code nanoTime} reads and a
+ * histogram update.
+ */
+@ApplicationScoped
+public class TransferMetrics {
+
+    public enum Stage {
+        VALIDATE_ACCOUNT("validate_account"),
+        VALIDATE_BALANCE("validate_balance"),
+        PERSIST("persist"),
+        PUBLISH("publish"),
+        COMMIT("commit");
+
+        final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+    static final String NO_EXCEPTION = "none";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "transaction.metrics.slo", defaultValue = "10ms,25ms,50ms,100ms,250ms,500ms,1000ms")
+    List<Duration> slo;
+
+    @ConfigProperty(name = "transaction.metrics.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private final Map<Stage, Timer> stageSuccessTimers = new EnumMap<>(Stage.class);
+    private final Map<Stage, Map<Class<?>, Timer>> stageFailureTimers = new EnumMap<>(Stage.class);
+    private final Map<String, Map<String, Timer>> clientSuccessTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Map<Class<?>, Timer>>> clientFailureTimers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void initMetrics() {
+        for (Stage stage : Stage.values()) {
+            stageSuccessTimers.put(stage, stageTimer(stage, SUCCESS, NO_EXCEPTION));
+            stageFailureTimers.put(stage, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Runs one stage of a transfer and records its latency.
+     */
+    public <T> T time(Stage stage, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            stageSuccessTimers.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            stageFailureTimer(stage, e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Times a non-blocking stage from subscription to its item or failure.
+     */
+    public <T> Uni<T> time(Stage stage, Uni<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return call.onItemOrFailure().invoke((item, failure) -> {
+                Timer timer = failure == null ? stageSuccessTimers.get(stage) : stageFailureTimer(stage, failure.getClass());
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        });
+    }
+
+    public void time(Stage stage, Runnable call) {
+        time(stage, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times the completion of the current transaction as the {@link Stage#COMMIT} stage: the flush of pending
+     * inserts and the database commit. Register it before the transaction first touches the database, so its
+     * timing starts before the Hibernate flush.
+     */
+    public void timeCommit() {
+        if (!enabled) {
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            private long start;
+
+            @Override
+            public void beforeCompletion() {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (start == 0) {
+                    // Rolled back without attempting to commit
+                    return;
+                }
+                Timer timer = status == Status.STATUS_COMMITTED
+                        ? stageSuccessTimers.get(Stage.COMMIT)
+                        : stageFailureTimer(Stage.COMMIT, RollbackException.class);
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Runs a call to a downstream service and records its latency.
+     *
+     * @param client    rest client config key, e.g. {@code account-service}
+     * @param operation client method name
+     */
+    public <T> T timeClient(String client, String operation, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            clientSuccessTimer(client, operation).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            clientFailureTimer(client, operation, e.getClass())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Times a non-blocking call to a downstream service from subscription to its item or failure.
+     */
+    public <T> Uni<T> timeClient(String client, String operation, Uni<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return call.onItemOrFailure().invoke((item, failure) -> {
+                Timer timer = failure == null
+                        ? clientSuccessTimer(client, operation)
+                        : clientFailureTimer(client, operation, failure.getClass());
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        });
+    }
+
+    private Timer stageFailureTimer(Stage stage, Class<?> exception) {
+        return stageFailureTimers.get(stage)
+                .computeIfAbsent(exception, e -> stageTimer(stage, FAILURE, e.getSimpleName()));
+    }
+
+    private Timer stageTimer(Stage stage, String outcome, String exception) {
+        return histogram(Timer.builder("transactions.transfer.stage")
+                .description("Latency of each stage of a transfer")
+                .tag("stage", stage.tag)
+                .tag("outcome", outcome)
+                .tag("exception", exception));
+    }
+
+    private Timer clientSuccessTimer(String client, String operation) {
+        return clientSuccessTimers.computeIfAbsent(client, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, o -> clientTimer(client, o, SUCCESS, NO_EXCEPTION));
+    }
+
+    private Timer clientFailureTimer(String client, String operation, Class<?> exception) {
+        return clientFailureTimers.computeIfAbsent(client, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, o -> new ConcurrentHashMap<>())
+                .computeIfAbsent(exception, e -> clientTimer(client, operation, FAILURE, e.getSimpleName()));
+    }
+
+    private Timer clientTimer(String client, String operation, String outcome, String exception) {
+        return histogram(Timer.builder("transactions.client.requests")
+                .description("Latency of calls to downstream services")
+                .tag("client", client)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception));
+    }
+
+    private Timer histogram(Timer.Builder builder) {
+        return builder
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(slo.toArray(new Duration[0]))
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+}
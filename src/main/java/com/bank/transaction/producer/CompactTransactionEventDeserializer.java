@@ -0,0 +1,176 @@
+package com.bank.transaction.producer;
+
+import com.bank.transaction.dto.TransactionEvent;
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Reads {@link TransactionEvent}s written by {@link CompactTransactionEventSerializer}, for consumers of the
+ * transaction topics.
+ * <p>
+ * Records carrying a different {@code content-type} header are rejected; records without one, published before the
+ * header was added, are read as the compact format. Every length, tag and ordinal is checked against the record
+ * before it is used, so a malformed or foreign record fails with a {@link SerializationException} that says what is
+ * wrong with it.
+ */
+@RegisterForReflection
+public class CompactTransactionEventDeserializer implements Deserializer<TransactionEvent> {
+
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+
+    @Override
+    public TransactionEvent deserialize(String topic, Headers headers, byte[] data) {
+        Header contentType = headers == null
+                ? null
+                : headers.lastHeader(CompactTransactionEventSerializer.CONTENT_TYPE_HEADER);
+        if (contentType != null) {
+            String value = contentType.value() == null ? "" : new String(contentType.value(), StandardCharsets.UTF_8);
+            if (!CompactTransactionEventSerializer.CONTENT_TYPE.equals(value)) {
+                throw new SerializationException("Unsupported transaction event content type: " + value);
+            }
+        }
+        return deserialize(topic, data);
+    }
+
+    @Override
+    public TransactionEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0 || data[0] != CompactTransactionEventSerializer.VERSION) {
+            throw new SerializationException("Unsupported transaction event format version");
+        }
+        try {
+            Reader reader = new Reader(data);
+            TransactionEvent event = new TransactionEvent();
+            event.transactionId = reader.readString("transactionId");
+            event.sourceAccountId = reader.readString("sourceAccountId");
+            event.targetAccountId = reader.readString("targetAccountId");
+            event.amount = reader.readAmount();
+            long timestamp = reader.readVarlong("timestamp");
+            event.timestamp = timestamp == 0
+                    ? null
+                    : LocalDateTime.ofInstant(Instant.ofEpochMilli(unZigZag(timestamp - 1)), ZoneOffset.UTC);
+            int status = reader.readByte("status");
+            if (status > STATUSES.length) {
+                throw new SerializationException("Unknown transaction status ordinal " + (status - 1));
+            }
+            event.status = status == 0 ? null : STATUSES[status - 1];
+            event.description = reader.readString("description");
+            event.errorMessage = reader.readString("errorMessage");
+            if (reader.remaining() != 0) {
+                throw new SerializationException(
+                        reader.remaining() + " unexpected trailing bytes in transaction event");
+            }
+            return event;
+        } catch (DateTimeException | ArithmeticException | NumberFormatException e) {
+            throw new SerializationException("Malformed transaction event", e);
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position = 1;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int remaining() {
+            return data.length - position;
+        }
+
+        int readByte(String field) {
+            require(1, field);
+            return data[position++] & 0xFF;
+        }
+
+        long readVarlong(String field) {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1, field);
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Varint of " + field + " is longer than 10 bytes");
+        }
+
+        /**
+         * Reads a length and checks it against the bytes left, so a corrupt length cannot allocate or read past the
+         * record.
+         */
+        int readLength(String field) {
+            long length = readVarlong(field);
+            if (length < 0 || length > remaining()) {
+                throw new SerializationException("Invalid length " + length + " of " + field + " with "
+                        + remaining() + " bytes left");
+            }
+            return (int) length;
+        }
+
+        String readString(String field) {
+            long length = readVarlong(field);
+            if (length == 0) {
+                return null;
+            }
+            if (length < 0 || length - 1 > remaining()) {
+                throw new SerializationException("Invalid length " + (length - 1) + " of " + field + " with "
+                        + remaining() + " bytes left");
+            }
+            String value = new String(data, position, (int) length - 1, StandardCharsets.UTF_8);
+            position += (int) length - 1;
+            return value;
+        }
+
+        BigDecimal readAmount() {
+            int tag = readByte("amount");
+            if (tag == CompactTransactionEventSerializer.AMOUNT_NULL) {
+                return null;
+            }
+            if (tag != CompactTransactionEventSerializer.AMOUNT_LONG
+                    && tag != CompactTransactionEventSerializer.AMOUNT_BIG) {
+                throw new SerializationException("Unknown amount tag " + tag);
+            }
+            long scale = unZigZag(readVarlong("amount scale"));
+            if (scale != (int) scale) {
+                throw new SerializationException("Amount scale " + scale + " is out of range");
+            }
+            if (tag == CompactTransactionEventSerializer.AMOUNT_LONG) {
+                return BigDecimal.valueOf(unZigZag(readVarlong("amount")), (int) scale);
+            }
+            int length = readLength("amount");
+            if (length == 0) {
+                throw new SerializationException("Invalid length 0 of amount");
+            }
+            BigInteger unscaled = new BigInteger(Arrays.copyOfRange(data, position, position + length));
+            position += length;
+            return new BigDecimal(unscaled, (int) scale);
+        }
+
+        private void require(int bytes, String field) {
+            if (remaining() < bytes) {
+                throw new SerializationException("Truncated transaction event while reading " + field);
+            }
+        }
+    }
+}
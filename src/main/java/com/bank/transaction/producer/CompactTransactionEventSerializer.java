@@ -0,0 +1,205 @@
+package com.bank.transaction.producer;
+
+import com.bank.transaction.dto.TransactionEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary Kafka serializer for {@link TransactionEvent}, an alternative to the JSON
+ * {@code ObjectMapperSerializer} selected through the channel's {@code value.serializer}. Read back by
+ * {@link CompactTransactionEventDeserializer}.
+ * <p>
+ * Layout (version 1), fields in declaration order:
+ * <ul>
+ *   <li>format version, one byte</li>
+ *   <li>strings as a varint of their UTF-8 length plus one (0 for null) followed by the bytes</li>
+ *   <li>amount as one tag byte (0 null, 1 unscaled long, 2 unscaled big integer), the scale as a zig-zag varint and
+ *   the unscaled value as a zig-zag varlong, or as a length-prefixed two's-complement array when it does not fit</li>
+ *   <li>timestamp as a zig-zag varlong of epoch milliseconds in UTC plus one (0 for null); sub-millisecond
+ *   precision is dropped</li>
+ *   <li>status as its ordinal plus one, one byte (0 for null); new statuses must be appended to the enum</li>
+ * </ul>
+ * The size is computed before writing, so strings are encoded in place and the only allocations are the returned
+ * array and the amount's unscaled value. Records are tagged with a {@code content-type} header of
+ * {@value #CONTENT_TYPE}, so consumers can tell them from JSON events on the same topic.
+ */
+@RegisterForReflection
+public class CompactTransactionEventSerializer implements Serializer<TransactionEvent> {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String CONTENT_TYPE = "application/vnd.bank.transaction-event.v1+compact";
+
+    static final byte VERSION = 1;
+
+    static final byte AMOUNT_NULL = 0;
+    static final byte AMOUNT_LONG = 1;
+    static final byte AMOUNT_BIG = 2;
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, TransactionEvent event) {
+        byte[] bytes = serialize(topic, event);
+        if (bytes != null) {
+            headers.remove(CONTENT_TYPE_HEADER);
+            headers.add(CONTENT_TYPE_HEADER, CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] serialize(String topic, TransactionEvent event) {
+        if (event == null) {
+            return null;
+        }
+        long epochMillis = event.timestamp == null
+                ? 0
+                : event.timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+        BigInteger unscaled = event.amount == null ? null : event.amount.unscaledValue();
+        byte[] bigUnscaled = unscaled != null && unscaled.bitLength() > 63 ? unscaled.toByteArray() : null;
+
+        int size = 1
+                + stringSize(event.transactionId)
+                + stringSize(event.sourceAccountId)
+                + stringSize(event.targetAccountId)
+                + amountSize(event.amount, unscaled, bigUnscaled)
+                + (event.timestamp == null ? 1 : varlongSize(zigZag(epochMillis) + 1))
+                + 1
+                + stringSize(event.description)
+                + stringSize(event.errorMessage);
+
+        byte[] buffer = new byte[size];
+        int position = 0;
+        buffer[position++] = VERSION;
+        position = writeString(buffer, position, event.transactionId);
+        position = writeString(buffer, position, event.sourceAccountId);
+        position = writeString(buffer, position, event.targetAccountId);
+        position = writeAmount(buffer, position, event.amount, unscaled, bigUnscaled);
+        position = writeVarlong(buffer, position, event.timestamp == null ? 0 : zigZag(epochMillis) + 1);
+        buffer[position++] = (byte) (event.status == null ? 0 : event.status.ordinal() + 1);
+        position = writeString(buffer, position, event.description);
+        writeString(buffer, position, event.errorMessage);
+        return buffer;
+    }
+
+    private static int amountSize(BigDecimal amount, BigInteger unscaled, byte[] bigUnscaled) {
+        if (amount == null) {
+            return 1;
+        }
+        int size = 1 + varlongSize(zigZag(amount.scale()));
+        if (bigUnscaled != null) {
+            return size + varlongSize(bigUnscaled.length) + bigUnscaled.length;
+        }
+        return size + varlongSize(zigZag(unscaled.longValue()));
+    }
+
+    private static int writeAmount(byte[] buffer, int position, BigDecimal amount, BigInteger unscaled,
+                                   byte[] bigUnscaled) {
+        if (amount == null) {
+            buffer[position++] = AMOUNT_NULL;
+            return position;
+        }
+        buffer[position++] = bigUnscaled == null ? AMOUNT_LONG : AMOUNT_BIG;
+        position = writeVarlong(buffer, position, zigZag(amount.scale()));
+        if (bigUnscaled == null) {
+            return writeVarlong(buffer, position, zigZag(unscaled.longValue()));
+        }
+        position = writeVarlong(buffer, position, bigUnscaled.length);
+        System.arraycopy(bigUnscaled, 0, buffer, position, bigUnscaled.length);
+        return position + bigUnscaled.length;
+    }
+
+    private static int stringSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int length = utf8Length(value);
+        return varlongSize(length + 1L) + length;
+    }
+
+    /**
+     * Encodes like {@code String.getBytes(UTF_8)}, including the replacement of unpaired surrogates with '?',
+     * without the intermediate array.
+     */
+    private static int writeString(byte[] buffer, int position, String value) {
+        if (value == null) {
+            buffer[position++] = 0;
+            return position;
+        }
+        position = writeVarlong(buffer, position, utf8Length(value) + 1L);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    buffer[position++] = '?';
+                }
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else {
+                    length++;
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static int writeVarlong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static int varlongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
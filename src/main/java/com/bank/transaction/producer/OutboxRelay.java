@@ -0,0 +1,267 @@
+package com.bank.transaction.producer;
+
+import com.bank.transaction.dto.TransactionEvent;
+import com.bank.transaction.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.reactive.messaging.MutinyEmitter;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.OnOverflow;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the transaction outbox to Kafka in batches. Each batch is sent without waiting event by event, so the
+ * Kafka producer pipelines it, and a row is marked sent only once its send has been acknowledged. Nacked or timed
+ * out events stay in the outbox and are retried on the next run, which makes delivery at-least-once. An event whose
+ * payload cannot be read is dead-lettered instead: marked failed and left in the outbox for inspection, while the
+ * rest of the batch is sent.
+ * <p>
+ * Sends in flight are bounded by {@code transaction.events.max-in-flight}. When the window is full the batch ends
+ * there, so the outbox rows stay locked only for the sends already in flight, never while waiting for a slot. The
+ * {@code transaction.events.overflow-strategy} decides whether the relay then carries on with the next batch or
+ * leaves the rest to its next run. Either way the backlog stays in the outbox table instead of on the heap. A send
+ * that outlives {@code transaction.events.send-timeout} is given up on, its row retried later, but it keeps its slot
+ * until the broker answers, so the window bounds the sends the producer really holds.
+ * <p>
+ * The {@code transactions.events.pending} gauge is counted from the table every
+ * {@code transaction.outbox.pending-check-interval}, and lowered by the events acknowledged in between.
+ */
+@ApplicationScoped
+public class OutboxRelay {
+
+    public enum OverflowStrategy {
+        /** Start the next batch as soon as the sends of the one cut short have been acknowledged. */
+        WAIT,
+        /** Leave the rest of the outbox to the next scheduled run. */
+        DEFER
+    }
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // The emitter buffer only has to hold the in-flight window (transaction.events.max-in-flight)
+    @Inject
+    @Channel(TransactionEventProducer.COMPLETED_CHANNEL)
+    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 8192)
+    MutinyEmitter<TransactionEvent> completedTransactionsEmitter;
+
+    @Inject
+    @Channel(TransactionEventProducer.FAILED_CHANNEL)
+    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 8192)
+    MutinyEmitter<TransactionEvent> failedTransactionsEmitter;
+
+    @ConfigProperty(name = "transaction.outbox.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "transaction.outbox.retention", defaultValue = "PT24H")
+    Duration retention;
+
+    @ConfigProperty(name = "transaction.events.max-in-flight", defaultValue = "1024")
+    int maxInFlight;
+
+    @ConfigProperty(name = "transaction.events.send-timeout", defaultValue = "PT30S")
+    Duration sendTimeout;
+
+    @ConfigProperty(name = "transaction.events.overflow-strategy", defaultValue = "WAIT")
+    OverflowStrategy overflowStrategy;
+
+    private Semaphore inFlightPermits;
+    private final AtomicInteger inFlightSends = new AtomicInteger();
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final Map<String, Timer> sendLatencyTimers = new HashMap<>();
+    private final Map<String, Counter> nackCounters = new HashMap<>();
+    private Counter deferredCounter;
+    private Counter deadLetteredCounter;
+    // Whether the last batch ended because the in-flight window was full; only read by the non-concurrent relay()
+    private boolean windowFull;
+
+    @PostConstruct
+    void initMetrics() {
+        inFlightPermits = new Semaphore(maxInFlight);
+
+        Gauge.builder("transactions.events.in-flight", inFlightSends, AtomicInteger::get)
+                .description("Events handed to the broker and not yet acknowledged")
+                .register(meterRegistry);
+
+        Gauge.builder("transactions.events.pending", pendingEvents, AtomicLong::get)
+                .description("Events buffered in the outbox waiting to be sent")
+                .register(meterRegistry);
+
+        for (String channel : List.of(TransactionEventProducer.COMPLETED_CHANNEL, TransactionEventProducer.FAILED_CHANNEL)) {
+            sendLatencyTimers.put(channel, Timer.builder("transactions.events.send.latency")
+                    .description("Time from send to broker acknowledgement")
+                    .tag("channel", channel)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+
+            nackCounters.put(channel, Counter.builder("transactions.events.nacked.total")
+                    .description("Events rejected by the broker or timed out")
+                    .tag("channel", channel)
+                    .register(meterRegistry));
+        }
+
+        deferredCounter = Counter.builder("transactions.events.deferred.total")
+                .description("Relay batches ended early because the in-flight window was full")
+                .register(meterRegistry);
+
+        deadLetteredCounter = Counter.builder("transactions.events.dead-lettered.total")
+                .description("Outbox events marked failed because they can never be sent")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(every = "${transaction.outbox.relay-interval:1s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void relay() {
+        int sent;
+        do {
+            sent = drain();
+        } while (sent == batchSize || (sent > 0 && windowFull && overflowStrategy == OverflowStrategy.WAIT));
+    }
+
+    @Scheduled(every = "${transaction.outbox.pending-check-interval:15s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @Transactional
+    void countPending() {
+        pendingEvents.set(OutboxEvent.countUnsent());
+    }
+
+    @Scheduled(every = "${transaction.outbox.purge-interval:1h}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @Transactional
+    void purge() {
+        long purged = OutboxEvent.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            logger.infof("Purged %d sent outbox events", purged);
+        }
+    }
+
+    /**
+     * Publishes one batch of unsent events and marks the acknowledged ones sent.
+     *
+     * @return the number of events acknowledged
+     */
+    @Transactional
+    public int drain() {
+        windowFull = false;
+        List<OutboxEvent> events = OutboxEvent.lockUnsent(batchSize);
+        if (events.isEmpty()) {
+            pendingEvents.set(0);
+            return 0;
+        }
+
+        List<CompletableFuture<Long>> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            TransactionEvent payload = readPayload(event);
+            if (payload == null) {
+                continue;
+            }
+            if (!inFlightPermits.tryAcquire()) {
+                windowFull = true;
+                deferredCounter.increment();
+                logger.warnf("In-flight window full, ending the batch with %d outbox events left",
+                        events.size() - sends.size());
+                break;
+            }
+            sends.add(send(event, payload));
+        }
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0])).join();
+
+        List<Long> acked = new ArrayList<>(sends.size());
+        for (CompletableFuture<Long> send : sends) {
+            Long id = send.join();
+            if (id != null) {
+                acked.add(id);
+            }
+        }
+        if (!acked.isEmpty()) {
+            OutboxEvent.markSent(acked, LocalDateTime.now());
+            pendingEvents.updateAndGet(pending -> Math.max(0, pending - acked.size()));
+        }
+
+        logger.debugf("Relayed %d of %d outbox events", acked.size(), events.size());
+        return acked.size();
+    }
+
+    /**
+     * Sends one event and completes with its outbox id once acknowledged, or with null when it was nacked
+     * or timed out. The send starts immediately so the whole batch is in flight at once. Its in-flight slot is only
+     * released when the broker answers, even if that is after the timeout.
+     */
+    private CompletableFuture<Long> send(OutboxEvent event, TransactionEvent payload) {
+        String channel = event.channel;
+        MutinyEmitter<TransactionEvent> emitter = TransactionEventProducer.FAILED_CHANNEL.equals(channel)
+            ? failedTransactionsEmitter
+            : completedTransactionsEmitter;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        inFlightSends.incrementAndGet();
+
+        CompletableFuture<Void> delivery = emitter.send(payload).subscribeAsCompletionStage();
+        delivery.whenComplete((ignored, failure) -> {
+            inFlightSends.decrementAndGet();
+            inFlightPermits.release();
+            sample.stop(sendLatencyTimers.get(channel));
+        });
+
+        // Timing out the copy leaves the delivery itself, and its slot, running
+        return delivery.copy()
+                .orTimeout(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((ignored, failure) -> {
+                    if (failure == null) {
+                        return event.id;
+                    }
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    nackCounters.get(channel).increment();
+                    logger.warnf("Event for transaction %s not acknowledged: %s", event.transactionId,
+                            cause instanceof TimeoutException ? "no answer within " + sendTimeout : cause.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * @return the event's payload, or null when it cannot be read and the event has been dead-lettered
+     */
+    private TransactionEvent readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.payload, TransactionEvent.class);
+        } catch (JsonProcessingException e) {
+            deadLetteredCounter.increment();
+            logger.errorf(e, "Cannot read outbox event %d for transaction %s, marking it failed", event.id,
+                    event.transactionId);
+            event.failedAt = LocalDateTime.now();
+            event.failure = abbreviate(e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -1,28 +1,40 @@
 package com.bank.transaction.producer;
 
 import com.bank.transaction.dto.TransactionEvent;
+import com.bank.transaction.entity.OutboxEvent;
 import com.bank.transaction.entity.Transaction;
 import com.bank.transaction.entity.TransactionStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import org.eclipse.microprofile.reactive.messaging.Channel;
-import org.eclipse.microprofile.reactive.messaging.Emitter;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.util.List;
+
+/**
+ * Records transaction events in the outbox table, in the caller's transaction, so an event exists if and only if
+ * the transaction row it describes was committed. {@link OutboxRelay} publishes them to Kafka afterwards.
+ */
 @ApplicationScoped
 public class TransactionEventProducer {
 
+    public static final String COMPLETED_CHANNEL = "transactions-completed";
+    public static final String FAILED_CHANNEL = "transactions-failed";
+
     @Inject
     Logger logger;
 
     @Inject
-    @Channel("transactions-completed")
-    Emitter<TransactionEvent> completedTransactionsEmitter;
+    ObjectMapper objectMapper;
 
-    @Inject
-    @Channel("transactions-failed")
-    Emitter<TransactionEvent> failedTransactionsEmitter;
+    @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50")
+    int jdbcBatchSize;
 
+    @Transactional(Transactional.TxType.MANDATORY)
     public void publishTransactionCompleted(Transaction transaction) {
         TransactionEvent event = new TransactionEvent(
             transaction.transactionId,
@@ -34,10 +46,41 @@ public class TransactionEventProducer {
             transaction.description
         );
         
-        logger.infof("Publishing transaction completed event for transaction: %s", transaction.transactionId);
-        completedTransactionsEmitter.send(event);
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Publishing transaction completed event for transaction: %s", transaction.transactionId);
+        }
+        toOutbox(COMPLETED_CHANNEL, event).persist();
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void publishTransactionsCompleted(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Publishing %d transaction completed events", transactions.size());
+        }
+        EntityManager entityManager = OutboxEvent.getEntityManager();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            entityManager.persist(toOutbox(COMPLETED_CHANNEL, new TransactionEvent(
+                transaction.transactionId,
+                transaction.sourceAccountId,
+                transaction.targetAccountId,
+                transaction.amount,
+                transaction.timestamp,
+                TransactionStatus.COMPLETED,
+                transaction.description
+            )));
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
     }
 
+    @Transactional(Transactional.TxType.MANDATORY)
     public void publishTransactionFailed(Transaction transaction, String errorMessage) {
         TransactionEvent event = new TransactionEvent(
             transaction.transactionId,
@@ -52,6 +95,14 @@ public class TransactionEventProducer {
         
         logger.infof("Publishing transaction failed event for transaction: %s, error: %s", 
                     transaction.transactionId, errorMessage);
-        failedTransactionsEmitter.send(event);
+        toOutbox(FAILED_CHANNEL, event).persist();
+    }
+
+    private OutboxEvent toOutbox(String channel, TransactionEvent event) {
+        try {
+            return new OutboxEvent(channel, event.transactionId, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize event for transaction: " + event.transactionId, e);
+        }
     }
 }
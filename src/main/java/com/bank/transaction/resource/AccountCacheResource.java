@@ -0,0 +1,49 @@
+package com.bank.transaction.resource;
+
+import com.bank.transaction.client.account.AccountLookup;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.logging.Logger;
+
+@Path("/api/transactions/cache/accounts")
+@Tag(name = "Account Cache Resource", description = "Account lookup cache maintenance")
+public class AccountCacheResource {
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    AccountLookup accountLookup;
+
+    @DELETE
+    @Path("/{accountId}")
+    @RolesAllowed({"ROLE_ADMIN"})
+    @Operation(summary = "Evict an account from the account lookup cache")
+    @APIResponse(responseCode = "204", description = "Account evicted")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    public Response invalidate(@PathParam("accountId") String accountId) {
+        logger.infof("Evicting account from cache: %s", accountId);
+
+        accountLookup.invalidate(accountId);
+        return Response.noContent().build();
+    }
+
+    @DELETE
+    @RolesAllowed({"ROLE_ADMIN"})
+    @Operation(summary = "Evict every account from the account lookup cache")
+    @APIResponse(responseCode = "204", description = "Cache cleared")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    public Response invalidateAll() {
+        logger.info("Evicting all accounts from cache");
+
+        accountLookup.invalidateAll();
+        return Response.noContent().build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.transaction.resource;
+
+import com.bank.transaction.dto.RollupRebuildStatus;
+import com.bank.transaction.service.TransactionRollups;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.logging.Logger;
+
+@Path("/api/transactions/rollups")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Rollup Resource", description = "Account rollup maintenance")
+public class RollupResource {
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    TransactionRollups rollups;
+
+    @POST
+    @Path("/rebuild")
+    @RolesAllowed({"ROLE_ADMIN"})
+    @Operation(summary = "Start recomputing the account rollups of a range of days from the transactions")
+    @APIResponse(
+        responseCode = "202",
+        description = "Rebuild started, followed with GET /api/transactions/rollups/rebuild",
+        content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = RollupRebuildStatus.class))
+    )
+    @APIResponse(responseCode = "400", description = "Rollups disabled or invalid date range")
+    @APIResponse(responseCode = "409", description = "A rebuild is already running")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    public Response rebuild(@QueryParam("from") String from, @QueryParam("to") String to) {
+        logger.infof("Rollup rebuild requested, from: %s, to: %s", from, to);
+
+        return Response.accepted(rollups.rebuild(from, to)).build();
+    }
+
+    @GET
+    @Path("/rebuild")
+    @RolesAllowed({"ROLE_ADMIN"})
+    @Operation(summary = "Status of the running or latest rollup rebuild")
+    @APIResponse(
+        responseCode = "200",
+        description = "Rebuild status",
+        content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = RollupRebuildStatus.class))
+    )
+    @APIResponse(responseCode = "204", description = "No rebuild since this instance started")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    public Response rebuildStatus() {
+        RollupRebuildStatus status = rollups.rebuildStatus();
+        return status == null ? Response.noContent().build() : Response.ok(status).build();
+    }
+}
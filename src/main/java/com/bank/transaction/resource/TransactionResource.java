@@ -1,28 +1,42 @@
 package com.bank.transaction.resource;
 
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.BatchTransferResponse;
+import com.bank.transaction.dto.BatchTransferResult;
+import com.bank.transaction.dto.TransactionPage;
 import com.bank.transaction.dto.TransactionResponse;
 import com.bank.transaction.dto.TransferRequest;
+import com.bank.transaction.metrics.MonetaryAdder;
+import com.bank.transaction.service.IdempotentTransferService;
+import com.bank.transaction.service.ReactiveValidationService;
+import com.bank.transaction.service.TransactionRollups;
 import com.bank.transaction.service.TransactionService;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
 import jakarta.annotation.PostConstruct;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
 @Path("/api/transactions")
 @Produces(MediaType.APPLICATION_JSON)
@@ -30,18 +44,46 @@ import java.util.concurrent.atomic.AtomicReference;
 @Tag(name = "Transaction Resource", description = "Transaction operations")
 public class TransactionResource {
 
+    /**
+     * Transfer processing engine, see {@code transaction.engine}.
+     */
+    public enum Engine {
+        BLOCKING,
+        /** Blocking write, with the downstream checks through the non-blocking clients. */
+        REACTIVE_VALIDATION
+    }
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     @Inject
     Logger logger;
 
     @Inject
     TransactionService transactionService;
 
+    @Inject
+    IdempotentTransferService idempotentTransferService;
+
     @Inject
     MeterRegistry meterRegistry;
 
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    ReactiveValidationService reactiveValidationService;
+
+    @Inject
+    TransactionRollups rollups;
+
+    @ConfigProperty(name = "transaction.engine", defaultValue = "blocking")
+    Engine engine;
+
     private Counter successfulTransfersCounter;
     private Counter failedTransfersCounter;
-    private AtomicReference<BigDecimal> totalTransferredAmount = new AtomicReference<>(BigDecimal.ZERO);
+    private final MonetaryAdder totalTransferredAmount = new MonetaryAdder(2);
 
     @PostConstruct
     void initMetrics() {
@@ -53,7 +95,7 @@ public class TransactionResource {
                 .description("Total number of failed transfers")
                 .register(meterRegistry);
         
-        Gauge.builder("transactions.total.amount", totalTransferredAmount, ref -> ref.get().doubleValue())
+        Gauge.builder("transactions.total.amount", totalTransferredAmount, MonetaryAdder::doubleValue)
                 .description("Total amount transferred")
                 .register(meterRegistry);
     }
@@ -70,18 +112,45 @@ public class TransactionResource {
     @APIResponse(responseCode = "400", description = "Invalid transfer request")
     @APIResponse(responseCode = "401", description = "Unauthorized")
     @APIResponse(responseCode = "500", description = "Internal server error")
-    public Response processTransfer(@Valid TransferRequest request) {
-        logger.infof("Processing transfer request from %s to %s, amount: %s", 
-                    request.sourceAccountId, request.targetAccountId, request.amount);
+    @RunOnVirtualThread
+    public Uni<Response> processTransfer(@Valid TransferRequest request,
+                                         @HeaderParam(IDEMPOTENCY_KEY) String idempotencyKey) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Processing transfer request from %s to %s, amount: %s",
+                        request.sourceAccountId, request.targetAccountId, request.amount);
+        }
         
+        // Idempotency-Key requests coordinate on the blocking path in both engines
+        if (engine == Engine.REACTIVE_VALIDATION && idempotencyKey == null) {
+            return reactiveValidationService.processTransfer(request)
+                    .onItem().transform(response -> {
+                        successfulTransfersCounter.increment();
+                        totalTransferredAmount.add(request.amount);
+                        return Response.status(Response.Status.CREATED).entity(response).build();
+                    })
+                    .onFailure().invoke(e -> {
+                        logger.errorf("Transfer failed: %s", e.getMessage());
+                        failedTransfersCounter.increment();
+                    });
+        }
+        // Already on the endpoint's virtual (or worker) thread, so the blocking path runs here
+        return Uni.createFrom().item(transfer(request, idempotencyKey));
+    }
+
+    private Response transfer(TransferRequest request, String idempotencyKey) {
         try {
-            TransactionResponse response = transactionService.processTransfer(request);
+            IdempotentTransferService.Outcome outcome = idempotentTransferService.processTransfer(request, idempotencyKey);
+            if (outcome.replayed) {
+                return Response.status(Response.Status.CREATED).entity(outcome.response)
+                        .header(IDEMPOTENT_REPLAYED, true)
+                        .build();
+            }
             
             // Update metrics
             successfulTransfersCounter.increment();
-            totalTransferredAmount.updateAndGet(current -> current.add(request.amount));
+            totalTransferredAmount.add(request.amount);
             
-            return Response.status(Response.Status.CREATED).entity(response).build();
+            return Response.status(Response.Status.CREATED).entity(outcome.response).build();
         } catch (Exception e) {
             logger.errorf("Transfer failed: %s", e.getMessage());
             
@@ -92,6 +161,34 @@ public class TransactionResource {
         }
     }
 
+    @POST
+    @Path("/transfer/batch")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    @Operation(summary = "Process a batch of money transfers between accounts")
+    @APIResponse(
+        responseCode = "200",
+        description = "Batch processed, see per-item results",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchTransferResponse.class))
+    )
+    @APIResponse(responseCode = "400", description = "Invalid batch request")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    @APIResponse(responseCode = "500", description = "Internal server error")
+    @RunOnVirtualThread
+    public Response processTransferBatch(@NotEmpty List<TransferRequest> requests) {
+        BatchTransferResponse response = transactionService.processTransferBatch(requests);
+
+        // Update metrics
+        successfulTransfersCounter.increment(response.completed);
+        failedTransfersCounter.increment(response.failed);
+        for (BatchTransferResult result : response.results) {
+            if (result.transaction != null) {
+                totalTransferredAmount.add(result.transaction.amount);
+            }
+        }
+
+        return Response.ok(response).build();
+    }
+
     @GET
     @Path("/{transactionId}")
     @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
@@ -103,11 +200,13 @@ public class TransactionResource {
     )
     @APIResponse(responseCode = "404", description = "Transaction not found")
     @APIResponse(responseCode = "401", description = "Unauthorized")
+    @RunOnVirtualThread
     public Response getTransaction(@PathParam("transactionId") String transactionId) {
-        logger.infof("Getting transaction: %s", transactionId);
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Getting transaction: %s", transactionId);
+        }
         
-        TransactionResponse response = transactionService.getTransaction(transactionId);
-        return Response.ok(response).build();
+        return Response.ok(transactionService.getTransaction(transactionId)).build();
     }
 
     @GET
@@ -119,12 +218,70 @@ public class TransactionResource {
         description = "Transaction history retrieved",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionResponse.class))
     )
+    @APIResponse(responseCode = "400", description = "Invalid page limit or token")
     @APIResponse(responseCode = "401", description = "Unauthorized")
-    public Response getAccountTransactions(@PathParam("accountId") String accountId) {
-        logger.infof("Getting transactions for account: %s", accountId);
-        
-        List<TransactionResponse> responses = transactionService.getAccountTransactions(accountId);
-        return Response.ok(responses).build();
+    @RunOnVirtualThread
+    public Response getAccountTransactions(@PathParam("accountId") String accountId,
+                                           @QueryParam("limit") Integer limit,
+                                           @QueryParam("next") String next) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Getting transactions for account: %s", accountId);
+        }
+
+        // Without paging parameters the full history is returned as a plain array, as before
+        if (limit == null && next == null) {
+            List<TransactionResponse> responses = transactionService.getAccountTransactions(accountId);
+            return Response.ok(responses).build();
+        }
+
+        TransactionPage page = transactionService.getAccountTransactionsPage(accountId, limit, next);
+        return Response.ok(page).build();
+    }
+
+    @GET
+    @Path("/account/{accountId}/summary")
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    @Operation(summary = "Get inflow and outflow totals for an account per day or month and status")
+    @APIResponse(
+        responseCode = "200",
+        description = "Account summary retrieved",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountSummary.class))
+    )
+    @APIResponse(responseCode = "400", description = "Invalid date range or granularity")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    @RunOnVirtualThread
+    public Response getAccountSummary(@PathParam("accountId") String accountId,
+                                      @QueryParam("from") String from,
+                                      @QueryParam("to") String to,
+                                      @QueryParam("granularity") String granularity) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Getting summary for account: %s", accountId);
+        }
+
+        return Response.ok(rollups.summarize(accountId, from, to, granularity)).build();
+    }
+
+    @GET
+    @Path("/account/{accountId}")
+    @Produces(NDJSON)
+    @RolesAllowed({"ROLE_USER", "ROLE_ADMIN"})
+    @Operation(summary = "Stream the full transaction history for an account as newline-delimited JSON")
+    @APIResponse(responseCode = "200", description = "Transaction history streamed")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    public Response streamAccountTransactions(@PathParam("accountId") String accountId) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Streaming transactions for account: %s", accountId);
+        }
+
+        StreamingOutput stream = output -> transactionService.streamAccountTransactions(accountId, response -> {
+            try {
+                output.write(objectMapper.writeValueAsBytes(response));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return Response.ok(stream).build();
     }
 
 }
@@ -0,0 +1,159 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.exception.AccountBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes transfers debiting the same accounts, so the balance check and the write of one transfer cannot
+ * interleave with another debit of the same account. Only source accounts are locked: crediting an account cannot
+ * overdraw it, so transfers into a shared target account run in parallel. Accounts are hashed onto a fixed set of
+ * stripes ({@code transaction.account-locks.stripes}); transfers on accounts in different stripes run in parallel.
+ * <p>
+ * The stripes of a caller, a whole batch included, are always taken in ascending order, so callers cannot deadlock.
+ * A caller waits at most {@code transaction.account-locks.timeout} for all of its stripes, then releases the ones it
+ * took and fails with {@link AccountBusyException}. Stripes are semaphores rather than owned locks because they are
+ * released when the transaction completes, which may be on another thread than the one that took them. Waiting time
+ * is recorded in the {@code transactions.account.lock.wait} timer.
+ * <p>
+ * The locks only order the balance checks of this instance; they do not make them correct. Account-service applies
+ * a debit once it has consumed the transfer's event from the outbox, so a balance check right after a commit may
+ * not see that debit yet, and transfers committed by other instances are not serialized at all. Overdraft
+ * protection is therefore only as good as account-service's view of the committed debits.
+ */
+@ApplicationScoped
+public class AccountLockManager {
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "transaction.account-locks.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "transaction.account-locks.stripes", defaultValue = "1024")
+    int stripeCount;
+
+    @ConfigProperty(name = "transaction.account-locks.timeout", defaultValue = "5s")
+    Duration timeout;
+
+    private Semaphore[] stripes;
+    private Timer waitTimer;
+
+    /**
+     * Stripes taken by one caller, in ascending order. Released once.
+     */
+    public final class Held {
+        private final int[] indexes;
+        private boolean released;
+
+        private Held(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        public synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                stripes[indexes[i]].release();
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        // Rounded up to a power of two so a stripe is picked with a mask
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        stripes = new Semaphore[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Semaphore(1);
+        }
+        waitTimer = Timer.builder("transactions.account.lock.wait")
+                .description("Time spent waiting for the account locks of a transfer")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Locks the given source accounts until the current transaction completes, whether it commits or rolls back.
+     */
+    public void lockUntilCompletion(Collection<String> accountIds) {
+        if (!enabled) {
+            return;
+        }
+        Held held = acquire(accountIds);
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                held.release();
+            }
+        });
+    }
+
+    /**
+     * Locks the given source accounts, blocking until all of their stripes are free or the timeout elapses. The
+     * caller releases them.
+     *
+     * @throws AccountBusyException if the stripes could not all be taken within the timeout
+     */
+    public Held acquire(Collection<String> accountIds) {
+        if (!enabled) {
+            return new Held(new int[0]);
+        }
+        int[] indexes = accountIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int taken = 0;
+        try {
+            for (; taken < indexes.length; taken++) {
+                if (!stripes[indexes[taken]].tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    releaseTaken(indexes, taken);
+                    throw new AccountBusyException("Timed out after " + timeout.toMillis()
+                            + " ms waiting for account locks held by other transfers");
+                }
+            }
+        } catch (InterruptedException e) {
+            releaseTaken(indexes, taken);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for account locks", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return new Held(indexes);
+    }
+
+    private void releaseTaken(int[] indexes, int taken) {
+        for (int i = taken - 1; i >= 0; i--) {
+            stripes[indexes[i]].release();
+        }
+    }
+
+    private int stripeOf(String accountId) {
+        int hash = accountId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
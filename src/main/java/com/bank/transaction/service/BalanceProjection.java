@@ -0,0 +1,283 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local projection of account balances, enabled with {@code transaction.balance-projection.enabled}. Entries are
+ * seeded from the {@code Account.balance} returned by account lookups and adjusted by the transfers this service
+ * commits. A transfer whose source account has a fresh entry with enough headroom reserves its amount here instead
+ * of calling account-service's validate-balance; otherwise the remote check runs as before.
+ * <p>
+ * An entry is fresh for {@code max-age} after the balance it was seeded from was fetched, so a balance served by
+ * the account cache counts with its age. Account-service applies this instance's transfers only once it has
+ * consumed their events, so a fetched balance may not include the latest local debits: when an entry is re-seeded,
+ * the debits committed here within the last {@code max-age} are subtracted again. Counting a debit twice only makes
+ * the projection fall back to the remote check sooner. Account-service may also apply debits this instance does not
+ * see, such as transfers committed by other instances, so {@code safety-margin} is the headroom that has to remain
+ * after the debit. Entries are guarded by {@code stripes} striped locks.
+ * <p>
+ * Every {@code max-age}, entries that have gone stale and hold no reservation and no debit committed within
+ * {@code max-age} are evicted, so accounts that stop transferring do not keep their entry. Such an entry would only
+ * be re-seeded before use, so evicting it loses nothing.
+ */
+@ApplicationScoped
+public class BalanceProjection {
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "transaction.balance-projection.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "transaction.balance-projection.max-age", defaultValue = "PT30S")
+    Duration maxAge;
+
+    @ConfigProperty(name = "transaction.balance-projection.safety-margin", defaultValue = "100.00")
+    BigDecimal safetyMargin;
+
+    @ConfigProperty(name = "transaction.balance-projection.stripes", defaultValue = "64")
+    int stripeCount;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private ReentrantLock[] locks;
+
+    private Counter localChecks;
+    private Counter remoteChecks;
+
+    private static final class Entry {
+        BigDecimal balance;
+        BigDecimal reserved = BigDecimal.ZERO;
+        // fetchedAt of the balance it was seeded from
+        long seededAt;
+        // Debits committed here within max-age, oldest first
+        final Deque<Debit> debits = new ArrayDeque<>();
+    }
+
+    private record Debit(BigDecimal amount, long committedAt) {
+    }
+
+    private record Reservation(String accountId, BigDecimal amount) {
+    }
+
+    @PostConstruct
+    void init() {
+        // Rounded up to a power of two so a stripe is picked with a mask
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        localChecks = Counter.builder("transactions.balance.checks")
+                .description("Balance checks by where they were answered")
+                .tag("source", "projection")
+                .register(meterRegistry);
+        remoteChecks = Counter.builder("transactions.balance.checks")
+                .description("Balance checks by where they were answered")
+                .tag("source", "account-service")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(every = "${transaction.balance-projection.max-age:PT30S}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledEviction() {
+        if (!enabled) {
+            return;
+        }
+        evictStale();
+    }
+
+    /**
+     * Removes the entries that are stale and have neither pending reservations nor unconfirmed local debits.
+     * Returns the number of entries removed.
+     */
+    int evictStale() {
+        int evicted = 0;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            ReentrantLock lock = lockFor(candidate.getKey());
+            lock.lock();
+            try {
+                Entry entry = candidate.getValue();
+                dropConfirmedDebits(entry);
+                if (!isFresh(entry) && entry.reserved.signum() == 0 && entry.debits.isEmpty()
+                        && entries.remove(candidate.getKey(), entry)) {
+                    evicted++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Seeds the entry of an account from a balance reported by account-service, unless a fresh entry exists or
+     * the entry was seeded from a newer fetch. Pending reservations and recent local debits are kept.
+     *
+     * @param fetchedAt {@link System#nanoTime()} when the balance was read from account-service
+     */
+    public void seed(String accountId, BigDecimal balance, long fetchedAt) {
+        if (!enabled || balance == null) {
+            return;
+        }
+        ReentrantLock lock = lockFor(accountId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(accountId);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(accountId, entry);
+            } else if (isFresh(entry) || entry.seededAt - fetchedAt >= 0) {
+                return;
+            }
+            entry.balance = balance.subtract(unconfirmedDebits(entry));
+            entry.seededAt = fetchedAt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves {@code amount} on the source account for the given transfer if the projection can vouch for it.
+     * Returns false when the entry is missing, stale or too close to the limit, in which case the caller has to
+     * validate the balance remotely.
+     */
+    public boolean tryReserve(String transactionId, String accountId, BigDecimal amount) {
+        if (!enabled) {
+            return false;
+        }
+        ReentrantLock lock = lockFor(accountId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(accountId);
+            if (entry == null || !isFresh(entry)
+                    || entry.balance.subtract(entry.reserved).subtract(amount).compareTo(safetyMargin) < 0) {
+                remoteChecks.increment();
+                return false;
+            }
+            entry.reserved = entry.reserved.add(amount);
+            reservations.put(transactionId, new Reservation(accountId, amount));
+            localChecks.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the reservation of a transfer that did not reach the database, if it had one.
+     */
+    public void release(String transactionId) {
+        Reservation reservation = reservations.remove(transactionId);
+        if (reservation != null) {
+            adjust(reservation.accountId(), BigDecimal.ZERO, reservation.amount().negate());
+        }
+    }
+
+    /**
+     * Applies a transfer to the projection once the current transaction commits, settling its reservation. On
+     * rollback the reservation is released.
+     */
+    public void applyAfterCommit(Transaction transaction) {
+        if (!enabled) {
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != Status.STATUS_COMMITTED) {
+                    release(transaction.transactionId);
+                    return;
+                }
+                Reservation reservation = reservations.remove(transaction.transactionId);
+                BigDecimal settled = reservation == null ? BigDecimal.ZERO : reservation.amount().negate();
+                debit(transaction.sourceAccountId, transaction.amount, settled);
+                adjust(transaction.targetAccountId, transaction.amount, BigDecimal.ZERO);
+            }
+        });
+    }
+
+    private void adjust(String accountId, BigDecimal balanceDelta, BigDecimal reservedDelta) {
+        ReentrantLock lock = lockFor(accountId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(accountId);
+            if (entry != null) {
+                entry.balance = entry.balance.add(balanceDelta);
+                entry.reserved = entry.reserved.add(reservedDelta);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void debit(String accountId, BigDecimal amount, BigDecimal reservedDelta) {
+        ReentrantLock lock = lockFor(accountId);
+        lock.lock();
+        try {
+            Entry entry = entries.get(accountId);
+            if (entry != null) {
+                entry.balance = entry.balance.subtract(amount);
+                entry.reserved = entry.reserved.add(reservedDelta);
+                dropConfirmedDebits(entry);
+                entry.debits.addLast(new Debit(amount, System.nanoTime()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Total of the debits committed here within the last {@code max-age}, which account-service may not have
+     * applied yet. Called with the entry's lock held.
+     */
+    private BigDecimal unconfirmedDebits(Entry entry) {
+        dropConfirmedDebits(entry);
+        BigDecimal total = BigDecimal.ZERO;
+        for (Debit debit : entry.debits) {
+            total = total.add(debit.amount());
+        }
+        return total;
+    }
+
+    private void dropConfirmedDebits(Entry entry) {
+        long now = System.nanoTime();
+        while (!entry.debits.isEmpty() && now - entry.debits.peekFirst().committedAt() >= maxAge.toNanos()) {
+            entry.debits.removeFirst();
+        }
+    }
+
+    private boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.seededAt < maxAge.toNanos();
+    }
+
+    private ReentrantLock lockFor(String accountId) {
+        int hash = accountId.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+}
@@ -0,0 +1,225 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.producer.TransactionEventProducer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for completed transfers, enabled with {@code transaction.group-commit.enabled}. Request threads
+ * hand their validated transfer to a single writer thread and wait; the writer inserts up to
+ * {@code max-batch-size} transfers, or whatever arrived within {@code max-wait} of the first one, together with
+ * their outbox events in one database transaction. Each caller returns only once its row is committed.
+ * <p>
+ * When a batch fails, its transfers are retried one transaction each, so only the transfer that caused the failure
+ * is rejected. Batch sizes are recorded in {@code transactions.group-commit.batch.size} and the time transfers spend
+ * queued in {@code transactions.group-commit.queue.wait}.
+ */
+@ApplicationScoped
+public class GroupCommitWriter {
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    TransactionEventProducer eventProducer;
+
+    @Inject
+    BalanceProjection balanceProjection;
+
+    @Inject
+    ReadReplicaRouter readReplica;
+
+    @Inject
+    TransactionRollups rollups;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "transaction.group-commit.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "transaction.group-commit.max-batch-size", defaultValue = "100")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "transaction.group-commit.max-wait", defaultValue = "5ms")
+    Duration maxWait;
+
+    @ConfigProperty(name = "transaction.group-commit.queue-capacity", defaultValue = "10000")
+    int queueCapacity;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private DistributionSummary batchSizes;
+    private Timer queueWait;
+
+    private static final class PendingWrite {
+        final Transaction transaction;
+        final CompletableFuture<Void> committed = new CompletableFuture<>();
+        final long enqueuedAt = System.nanoTime();
+
+        PendingWrite(Transaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        batchSizes = DistributionSummary.builder("transactions.group-commit.batch.size")
+                .description("Transfers written per group commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        queueWait = Timer.builder("transactions.group-commit.queue.wait")
+                .description("Time a transfer waits for the writer to start its batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "group-commit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingWrite pending;
+        while ((pending = queue.poll()) != null) {
+            pending.committed.completeExceptionally(new IllegalStateException("Group commit writer stopped"));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes a completed transfer and its event, returning once they are committed. Blocks while the queue is full.
+     */
+    public void write(Transaction transaction) {
+        PendingWrite pending = new PendingWrite(transaction);
+        try {
+            queue.put(pending);
+            pending.committed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for group commit", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWait.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                for (PendingWrite pending : batch) {
+                    pending.committed.completeExceptionally(new IllegalStateException("Group commit writer stopped"));
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (PendingWrite pending : batch) {
+            queueWait.record(start - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+            transactions.add(pending.transaction);
+        }
+        batchSizes.record(batch.size());
+
+        try {
+            writeBatch(transactions);
+            batch.forEach(pending -> pending.committed.complete(null));
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.get(0).committed.completeExceptionally(e);
+                return;
+            }
+            logger.warnf("Group commit of %d transfers failed, retrying them one by one: %s",
+                    batch.size(), e.getMessage());
+        }
+
+        for (PendingWrite pending : batch) {
+            // The rolled back batch already assigned an id
+            pending.transaction.id = null;
+            try {
+                writeBatch(List.of(pending.transaction));
+                pending.committed.complete(null);
+            } catch (Exception e) {
+                pending.committed.completeExceptionally(e);
+            }
+        }
+    }
+
+    @Transactional
+    void writeBatch(List<Transaction> transactions) {
+        EntityManager entityManager = Transaction.getEntityManager();
+        for (Transaction transaction : transactions) {
+            balanceProjection.applyAfterCommit(transaction);
+            readReplica.recordWriteAfterCommit(transaction);
+            entityManager.persist(transaction);
+        }
+        eventProducer.publishTransactionsCompleted(transactions);
+        rollups.add(transactions);
+    }
+}
@@ -0,0 +1,175 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.dto.TransferRequest;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.exception.InvalidTransactionException;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.security.identity.SecurityIdentity;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes transfers retry-safe through the client supplied {@code Idempotency-Key}. A replayed key is answered from
+ * the in-memory index ({@code quarkus.cache.caffeine.idempotency-keys}) or, after eviction or on another pod, from
+ * the {@code idempotency_key} column, without calling any downstream service. Concurrent requests with the same key
+ * wait for the first one instead of racing it. Only completed transfers are remembered, so a request that failed can
+ * be retried with the same key. Keys are scoped to the caller: the same key sent by two principals names two
+ * different transfers, and one caller can never be answered with another's transfer.
+ */
+@ApplicationScoped
+public class IdempotentTransferService {
+
+    public static class Outcome {
+        public final TransactionResponse response;
+        public final boolean replayed;
+
+        Outcome(TransactionResponse response, boolean replayed) {
+            this.response = response;
+            this.replayed = replayed;
+        }
+    }
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    TransactionService transactionService;
+
+    @Inject
+    @CacheName("idempotency-keys")
+    Cache completedTransfers;
+
+    @Inject
+    SecurityIdentity identity;
+
+    @ConfigProperty(name = "transaction.idempotency.wait-timeout", defaultValue = "PT30S")
+    Duration waitTimeout;
+
+    private final ConcurrentMap<Key, CompletableFuture<TransactionResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public Outcome processTransfer(TransferRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return new Outcome(transactionService.processTransfer(request), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+            throw new InvalidTransactionException("Idempotency-Key must be between 1 and 255 characters");
+        }
+
+        Key key = new Key(identity.getPrincipal().getName(), idempotencyKey);
+        TransactionResponse completed = findCompleted(key);
+        if (completed != null) {
+            return replay(idempotencyKey, request, completed);
+        }
+
+        CompletableFuture<TransactionResponse> execution = new CompletableFuture<>();
+        CompletableFuture<TransactionResponse> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            return replay(idempotencyKey, request, await(idempotencyKey, running));
+        }
+
+        try {
+            // Completed between the lookup above and claiming the key
+            completed = findCompleted(key);
+            if (completed != null) {
+                execution.complete(completed);
+                return replay(idempotencyKey, request, completed);
+            }
+
+            TransactionResponse response = execute(request, key);
+            remember(key, response);
+            execution.complete(response);
+            return new Outcome(response, false);
+        } catch (RuntimeException | Error e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private TransactionResponse execute(TransferRequest request, Key key) {
+        try {
+            return transactionService.processTransfer(request, key.idempotencyKey());
+        } catch (RuntimeException e) {
+            // Another pod may have committed the same key first, in which case the unique constraint rejects ours
+            Transaction winner = Transaction.findByIdempotencyKey(key.owner(), key.idempotencyKey());
+            if (winner != null) {
+                logger.infof("Idempotency-Key %s was completed concurrently by transaction %s",
+                        key.idempotencyKey(), winner.transactionId);
+                return transactionService.mapToResponse(winner);
+            }
+            throw e;
+        }
+    }
+
+    private TransactionResponse findCompleted(Key key) {
+        CompletableFuture<Object> cached = completedTransfers.as(CaffeineCache.class).getIfPresent(key);
+        if (cached != null) {
+            return (TransactionResponse) cached.join();
+        }
+
+        Transaction transaction = Transaction.findByIdempotencyKey(key.owner(), key.idempotencyKey());
+        if (transaction == null) {
+            return null;
+        }
+        TransactionResponse response = transactionService.mapToResponse(transaction);
+        remember(key, response);
+        return response;
+    }
+
+    private void remember(Key key, TransactionResponse response) {
+        completedTransfers.as(CaffeineCache.class)
+                .put(key, CompletableFuture.completedFuture(response));
+    }
+
+    private TransactionResponse await(String idempotencyKey, CompletableFuture<TransactionResponse> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The first request's own failure, rethrown as is so it is mapped the same way for every waiter
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Transfer with Idempotency-Key failed: " + idempotencyKey, cause);
+        } catch (TimeoutException e) {
+            throw new InvalidTransactionException("Transfer with Idempotency-Key is still in progress: " + idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidTransactionException("Interrupted waiting for Idempotency-Key: " + idempotencyKey, e);
+        }
+    }
+
+    private Outcome replay(String idempotencyKey, TransferRequest request, TransactionResponse response) {
+        if (!request.sourceAccountId.equals(response.sourceAccountId)
+                || !request.targetAccountId.equals(response.targetAccountId)
+                || request.amount.compareTo(response.amount) != 0) {
+            throw new InvalidTransactionException("Idempotency-Key was already used for a different transfer: "
+                    + idempotencyKey);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Replaying transaction %s for Idempotency-Key %s", response.transactionId, idempotencyKey);
+        }
+        return new Outcome(response, true);
+    }
+
+    // owner is the caller's principal name
+    private record Key(String owner, String idempotencyKey) {
+    }
+}
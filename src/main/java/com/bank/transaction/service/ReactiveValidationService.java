@@ -0,0 +1,129 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.client.account.AccountLookup;
+import com.bank.transaction.client.account.ReactiveAccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.dto.TransferRequest;
+import com.bank.transaction.exception.InvalidTransactionException;
+import com.bank.transaction.metrics.TransferMetrics;
+import com.bank.transaction.metrics.TransferMetrics.Stage;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reactive validation for single transfers, selected with {@code transaction.engine=reactive-validation}. The account
+ * and balance checks are issued concurrently through the non-blocking REST clients and awaited on the event loop, so
+ * a transfer holds no thread while waiting on the downstream services. Persistence is not reactive: the wait for the
+ * {@link AccountLockManager} locks, held until the write completes, and the JDBC write, which keeps the insert and
+ * its outbox event in one JTA transaction, still run on a worker (or virtual) thread.
+ * Rejections carry the same messages as the blocking engine.
+ */
+@ApplicationScoped
+public class ReactiveValidationService {
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    @RestClient
+    ReactiveAccountServiceClient accountServiceClient;
+
+    @Inject
+    AccountLookup accountLookup;
+
+    @Inject
+    TransactionService transactionService;
+
+    @Inject
+    BalanceProjection balanceProjection;
+
+    @Inject
+    AccountLockManager accountLocks;
+
+    @Inject
+    TransferMetrics metrics;
+
+    @Inject
+    JsonWebToken jwt;
+
+    @Inject
+    SecurityIdentity identity;
+
+    /**
+     * Must be called on the request's thread, where the caller's token is read.
+     */
+    public Uni<TransactionResponse> processTransfer(TransferRequest request) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Processing transfer from %s to %s, amount: %s",
+                        request.sourceAccountId, request.targetAccountId, request.amount);
+        }
+
+        String transactionId = UUID.randomUUID().toString();
+        String authHeader = "Bearer " + jwt.getRawToken();
+        String principal = identity.getPrincipal().getName();
+
+        try {
+            transactionService.validateTransferRequest(request);
+        } catch (InvalidTransactionException e) {
+            return Uni.createFrom().failure(e);
+        }
+
+        // Waiting for the source account lock blocks, so it happens off the event loop
+        return transactionService.offload(() -> accountLocks.acquire(List.of(request.sourceAccountId)))
+                .chain(held -> validateAndComplete(request, transactionId, principal, authHeader)
+                        .eventually(held::release));
+    }
+
+    private Uni<TransactionResponse> validateAndComplete(TransferRequest request, String transactionId,
+                                                        String principal, String authHeader) {
+        Uni<Account> sourceAccount = validateAccount(request.sourceAccountId,
+                accountLookup.getDebitedAccountAsync(request.sourceAccountId, authHeader));
+        Uni<Account> targetAccount = validateAccount(request.targetAccountId,
+                accountLookup.getAccountAsync(request.targetAccountId, authHeader));
+        Uni<Void> balance = balanceProjection.tryReserve(transactionId, request.sourceAccountId, request.amount)
+                ? Uni.createFrom().voidItem()
+                : validateSufficientBalance(request.sourceAccountId, request.amount, authHeader);
+
+        return Uni.combine().all().unis(sourceAccount, targetAccount, balance)
+                .discardItems()
+                .chain(() -> transactionService.offload(
+                        () -> transactionService.completeTransfer(request, transactionId, principal, null)))
+                .onFailure().invoke(() -> balanceProjection.release(transactionId));
+    }
+
+    private Uni<Account> validateAccount(String accountId, Uni<Account> lookup) {
+        return metrics.time(Stage.VALIDATE_ACCOUNT, lookup
+                .onItem().invoke(account -> {
+                    if (!"ACTIVE".equals(account.status)) {
+                        throw new InvalidTransactionException("Account is not active: " + accountId);
+                    }
+                    balanceProjection.seed(accountId, account.balance, account.fetchedAt);
+                })
+                .onFailure().transform(e ->
+                        TransactionService.validationFailure("Account validation failed for: " + accountId, e)));
+    }
+
+    private Uni<Void> validateSufficientBalance(String accountId, BigDecimal amount, String authHeader) {
+        return metrics.time(Stage.VALIDATE_BALANCE, metrics.timeClient("account-service", "validateBalance",
+                        accountServiceClient.validateBalance(accountId, amount, authHeader))
+                .onItem().invoke((BalanceValidationResponse validation) -> {
+                    if (!validation.hasBalance) {
+                        throw new InvalidTransactionException("Insufficient funds in account: " + accountId);
+                    }
+                })
+                .onFailure().transform(e ->
+                        TransactionService.validationFailure("Balance validation failed for account: " + accountId, e))
+                .replaceWithVoid());
+    }
+}
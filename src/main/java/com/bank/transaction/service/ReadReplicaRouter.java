@@ -0,0 +1,305 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.InjectableInstance;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the read-only transaction queries from the {@code replica} datasource, enabled with
+ * {@code transaction.read-replica.enabled}. Every {@code lag-check-interval} the replica is asked how far it is
+ * behind ({@code lag-query}), which gives the point in time up to which it has every commit. A read goes to the
+ * replica only while that point is at most {@code max-lag} old and the transaction or account read was not written
+ * by this instance after it, so a client always sees its own transfers. Otherwise, when the replica fails, or when
+ * a transaction is not found there, the caller reads from the primary.
+ * <p>
+ * Decisions are counted in {@code transactions.reads}, tagged with the datasource and the reason, and the measured
+ * lag is exported as {@code transactions.read-replica.lag}.
+ */
+@ApplicationScoped
+public class ReadReplicaRouter {
+
+    private static final String BY_TRANSACTION_ID = "select * from transactions where transaction_id = ?1";
+    private static final Pattern POSITIONAL_PARAMETER = Pattern.compile("\\?(\\d+)");
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    @DataSource("replica")
+    InjectableInstance<AgroalDataSource> replicaDataSource;
+
+    @ConfigProperty(name = "transaction.read-replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "transaction.read-replica.max-lag", defaultValue = "PT2S")
+    Duration maxLag;
+
+    // Seconds the replica is behind the primary
+    @ConfigProperty(name = "transaction.read-replica.lag-query", defaultValue = "select case"
+            + " when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end")
+    String lagQuery;
+
+    // Transaction and account ids written by this instance, with their commit time in epoch milliseconds
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    // Epoch milliseconds up to which the replica has every commit, or 0 when unknown
+    private volatile long caughtUpTo;
+    private volatile double lagSeconds = Double.NaN;
+
+    private Counter replicaReads;
+    private Counter staleReplica;
+    private Counter recentWrite;
+    private Counter notReplicated;
+    private Counter replicaError;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        replicaReads = readCounter("replica", "replica");
+        staleReplica = readCounter("primary", "lag");
+        recentWrite = readCounter("primary", "recent-write");
+        notReplicated = readCounter("primary", "not-found");
+        replicaError = readCounter("primary", "replica-error");
+        TimeGauge.builder("transactions.read-replica.lag", this, TimeUnit.SECONDS, router -> router.lagSeconds)
+                .description("How far the read replica is behind the primary, NaN when unknown")
+                .register(meterRegistry);
+    }
+
+    private Counter readCounter(String datasource, String reason) {
+        return Counter.builder("transactions.reads")
+                .description("Transaction reads by the datasource that served them and why")
+                .tag("datasource", datasource)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Remembers the transfer's transaction and accounts as written when the current transaction commits, so they
+     * are read from the primary until the replica has caught up with it.
+     */
+    public void recordWriteAfterCommit(Transaction transaction) {
+        if (!enabled) {
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    Long committedAt = System.currentTimeMillis();
+                    recentWrites.put(transaction.transactionId, committedAt);
+                    recentWrites.put(transaction.sourceAccountId, committedAt);
+                    recentWrites.put(transaction.targetAccountId, committedAt);
+                }
+            }
+        });
+    }
+
+    @Scheduled(every = "${transaction.read-replica.lag-check-interval:500ms}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void checkLag() {
+        if (!enabled) {
+            return;
+        }
+        long checkedAt = System.currentTimeMillis();
+        try (Connection connection = replicaDataSource.get().getConnection();
+             PreparedStatement statement = connection.prepareStatement(lagQuery);
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            double lag = Math.max(0, result.getDouble(1));
+            lagSeconds = lag;
+            caughtUpTo = checkedAt - (long) (lag * 1000);
+        } catch (SQLException | RuntimeException e) {
+            lagSeconds = Double.NaN;
+            caughtUpTo = 0;
+            logger.warnf("Read replica lag check failed, reading from the primary: %s", e.getMessage());
+        }
+        // Older writes are either replicated or, while the lag exceeds max-lag, read from the primary anyway
+        long expired = checkedAt - maxLag.toMillis();
+        recentWrites.values().removeIf(committedAt -> committedAt < expired);
+    }
+
+    /**
+     * The transaction read from the replica, or null when it has to be read from the primary, including when the
+     * replica does not have it (yet).
+     */
+    public Transaction findByTransactionId(String transactionId) {
+        if (!routeToReplica(transactionId)) {
+            return null;
+        }
+        List<Transaction> transactions = new ArrayList<>(1);
+        if (!query(BY_TRANSACTION_ID, 0, transactions::add, transactionId)) {
+            return null;
+        }
+        if (transactions.isEmpty()) {
+            notReplicated.increment();
+            return null;
+        }
+        replicaReads.increment();
+        return transactions.get(0);
+    }
+
+    /**
+     * An account history page read from the replica, see {@link Transaction#findPageByAccountId}, or null when it
+     * has to be read from the primary. A {@code limit} of 0 returns the whole history.
+     */
+    public List<Transaction> findPageByAccountId(String accountId, LocalDateTime afterTimestamp, Long afterId,
+                                                 int limit) {
+        List<Transaction> transactions = new ArrayList<>();
+        return streamPageByAccountId(accountId, afterTimestamp, afterId, limit, 0, transactions::add)
+                ? transactions
+                : null;
+    }
+
+    /**
+     * Streams an account's history from the replica, reading {@code fetchSize} rows per round-trip. Returns false,
+     * without calling {@code consumer}, when it has to be read from the primary.
+     */
+    public boolean streamByAccountId(String accountId, int fetchSize, Consumer<Transaction> consumer) {
+        return streamPageByAccountId(accountId, null, null, 0, fetchSize, consumer);
+    }
+
+    private boolean streamPageByAccountId(String accountId, LocalDateTime afterTimestamp, Long afterId, int limit,
+                                          int fetchSize, Consumer<Transaction> consumer) {
+        if (!routeToReplica(accountId)) {
+            return false;
+        }
+        String sql = Transaction.accountHistoryQuery(afterTimestamp != null);
+        boolean read = afterTimestamp == null
+                ? query(limited(sql, limit, 2), fetchSize, consumer, accountId, limit)
+                : query(limited(sql, limit, 4), fetchSize, consumer, accountId, afterTimestamp, afterId, limit);
+        if (read) {
+            replicaReads.increment();
+        }
+        return read;
+    }
+
+    private static String limited(String sql, int limit, int parameter) {
+        return limit > 0 ? sql + " limit ?" + parameter : sql;
+    }
+
+    private boolean routeToReplica(String key) {
+        if (!enabled) {
+            return false;
+        }
+        long replicatedUpTo = caughtUpTo;
+        if (System.currentTimeMillis() - replicatedUpTo > maxLag.toMillis()) {
+            staleReplica.increment();
+            return false;
+        }
+        Long writtenAt = recentWrites.get(key);
+        if (writtenAt != null && writtenAt >= replicatedUpTo) {
+            recentWrite.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Runs {@code sql}, written with JPA style numbered parameters, on the replica. Returns false when it failed
+     * and the caller should read from the primary instead. A streaming query ({@code fetchSize} above 0) that
+     * fails after rows were passed to {@code consumer} throws instead, as falling back would repeat them.
+     */
+    private boolean query(String sql, int fetchSize, Consumer<Transaction> consumer, Object... parameters) {
+        List<Integer> order = new ArrayList<>();
+        Matcher matcher = POSITIONAL_PARAMETER.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder();
+        while (matcher.find()) {
+            order.add(Integer.parseInt(matcher.group(1)));
+            matcher.appendReplacement(jdbcSql, "?");
+        }
+        matcher.appendTail(jdbcSql);
+
+        int rows = 0;
+        try (Connection connection = replicaDataSource.get().getConnection()) {
+            if (fetchSize > 0) {
+                // PostgreSQL only fetches in chunks inside a transaction
+                connection.setAutoCommit(false);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(jdbcSql.toString())) {
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < order.size(); i++) {
+                    statement.setObject(i + 1, parameters[order.get(i) - 1]);
+                }
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        consumer.accept(read(result));
+                        rows++;
+                    }
+                }
+            } finally {
+                if (fetchSize > 0) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            if (fetchSize > 0 && rows > 0) {
+                throw new IllegalStateException("Read replica failed while streaming: " + e.getMessage(), e);
+            }
+            replicaError.increment();
+            logger.warnf("Read replica query failed, reading from the primary: %s", e.getMessage());
+            return false;
+        }
+    }
+
+    private static Transaction read(ResultSet result) throws SQLException {
+        Transaction transaction = new Transaction();
+        transaction.id = result.getLong("id");
+        transaction.transactionId = result.getString("transaction_id");
+        transaction.sourceAccountId = result.getString("source_account_id");
+        transaction.targetAccountId = result.getString("target_account_id");
+        transaction.amount = result.getBigDecimal("amount");
+        transaction.timestamp = result.getObject("timestamp", LocalDateTime.class);
+        transaction.status = TransactionStatus.valueOf(result.getString("status"));
+        transaction.description = result.getString("description");
+        transaction.idempotencyKey = result.getString("idempotency_key");
+        transaction.idempotencyOwner = result.getString("idempotency_owner");
+        return transaction;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.producer.TransactionEventProducer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+/**
+ * Records FAILED transfers and their failed event in a transaction of their own, so both survive the rollback
+ * of the transfer transaction that raised it.
+ */
+@ApplicationScoped
+public class TransactionFailureRecorder {
+
+    @Inject
+    TransactionEventProducer eventProducer;
+
+    @Inject
+    ReadReplicaRouter readReplica;
+
+    @Inject
+    TransactionRollups rollups;
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Transaction recordFailure(Transaction attempted, String errorMessage) {
+        Transaction failed = new Transaction(
+            attempted.transactionId,
+            attempted.sourceAccountId,
+            attempted.targetAccountId,
+            attempted.amount,
+            attempted.description
+        );
+        failed.timestamp = attempted.timestamp;
+        failed.status = TransactionStatus.FAILED;
+        failed.persist();
+        readReplica.recordWriteAfterCommit(failed);
+
+        eventProducer.publishTransactionFailed(failed, errorMessage);
+        rollups.add(failed);
+        return failed;
+    }
+}
@@ -0,0 +1,194 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of {@code transactions} once the table has been converted with
+ * {@code db/transactions-partitioned.sql}, enabled with {@code transaction.partitioning.enabled}. On startup and
+ * every {@code maintenance-interval} it creates the partitions of the current and next {@code premake-months}
+ * months, and detaches or drops ({@code expired-action}) the partitions older than {@code retention-months}.
+ * Detached partitions are left as plain tables for archiving.
+ * <p>
+ * Runs are serialized across instances with a transaction-scoped advisory lock; an instance that does not get it
+ * skips the run. The number of attached partitions is exposed as {@code transactions.partitions}.
+ */
+@ApplicationScoped
+public class TransactionPartitionManager {
+
+    public enum ExpiredAction {
+        /** Detach expired partitions, keeping them as standalone tables. */
+        DETACH,
+        /** Drop expired partitions and their rows. */
+        DROP
+    }
+
+    record Plan(List<YearMonth> create, List<YearMonth> expire) {
+    }
+
+    private static final String TABLE = "transactions";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_(\\d{4})_(\\d{2})");
+    private static final String CREATE_PARTITION =
+            "create table if not exists %s partition of %s for values from ('%s') to ('%s')";
+    // Arbitrary key of the advisory lock taken by maintenance runs
+    private static final long MAINTENANCE_LOCK = 0x7472616e73L;
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "transaction.partitioning.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "transaction.partitioning.premake-months", defaultValue = "3")
+    int premakeMonths;
+
+    @ConfigProperty(name = "transaction.partitioning.retention-months", defaultValue = "0")
+    int retentionMonths;
+
+    @ConfigProperty(name = "transaction.partitioning.expired-action", defaultValue = "DETACH")
+    ExpiredAction expiredAction;
+
+    private final AtomicInteger partitions = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("transactions.partitions", partitions, AtomicInteger::get)
+                .description("Monthly partitions attached to the transactions table")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        scheduledMaintenance();
+    }
+
+    @Scheduled(every = "${transaction.partitioning.maintenance-interval:1h}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledMaintenance() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            logger.errorf(e, "Partition maintenance of %s failed", TABLE);
+        }
+    }
+
+    /**
+     * Creates missing and removes expired partitions as of the current month.
+     */
+    @Transactional
+    public void maintain() {
+        EntityManager entityManager = Transaction.getEntityManager();
+        Object locked = entityManager.createNativeQuery("select pg_try_advisory_xact_lock(?1)")
+                .setParameter(1, MAINTENANCE_LOCK)
+                .getSingleResult();
+        if (!Boolean.TRUE.equals(locked)) {
+            logger.debug("Partition maintenance is running on another instance");
+            return;
+        }
+        if (entityManager.createNativeQuery(
+                "select 1 from pg_partitioned_table where partrelid = to_regclass('" + TABLE + "')")
+                .getResultList().isEmpty()) {
+            logger.warnf("Table %s is not partitioned, run db/transactions-partitioned.sql first", TABLE);
+            return;
+        }
+
+        Set<YearMonth> existing = existingPartitions(entityManager);
+        Plan plan = plan(YearMonth.now(), existing, premakeMonths, retentionMonths);
+        for (YearMonth month : plan.create()) {
+            entityManager.createNativeQuery(CREATE_PARTITION.formatted(
+                    partitionName(month), TABLE, month.atDay(1), month.plusMonths(1).atDay(1)))
+                    .executeUpdate();
+            logger.infof("Created partition %s", partitionName(month));
+        }
+        for (YearMonth month : plan.expire()) {
+            String statement = expiredAction == ExpiredAction.DROP
+                    ? "drop table %2$s"
+                    : "alter table %1$s detach partition %2$s";
+            entityManager.createNativeQuery(statement.formatted(TABLE, partitionName(month))).executeUpdate();
+            logger.infof("%s expired partition %s", expiredAction == ExpiredAction.DROP ? "Dropped" : "Detached",
+                    partitionName(month));
+        }
+        if (!plan.expire().isEmpty()) {
+            // Keys of removed transfers can be reused from now on
+            YearMonth oldestKept = plan.expire().get(plan.expire().size() - 1).plusMonths(1);
+            entityManager.createNativeQuery("delete from transaction_idempotency_keys where transaction_timestamp < ?1")
+                    .setParameter(1, oldestKept.atDay(1).atStartOfDay())
+                    .executeUpdate();
+        }
+        partitions.set(existing.size() + plan.create().size() - plan.expire().size());
+    }
+
+    /**
+     * Partitions to create so that the current month and the next {@code premakeMonths} exist, and existing
+     * partitions older than {@code retentionMonths} before the current month, oldest first. A retention of 0 keeps
+     * every partition.
+     */
+    static Plan plan(YearMonth current, Collection<YearMonth> existing, int premakeMonths, int retentionMonths) {
+        List<YearMonth> create = new ArrayList<>();
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                create.add(month);
+            }
+        }
+        List<YearMonth> expire = new ArrayList<>();
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            for (YearMonth month : new TreeSet<>(existing)) {
+                if (month.isBefore(oldestKept)) {
+                    expire.add(month);
+                }
+            }
+        }
+        return new Plan(create, expire);
+    }
+
+    static String partitionName(YearMonth month) {
+        return "%s_%04d_%02d".formatted(TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<YearMonth> existingPartitions(EntityManager entityManager) {
+        List<String> names = entityManager.createNativeQuery(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid"
+                + " where i.inhparent = to_regclass('" + TABLE + "')")
+                .getResultList();
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+}
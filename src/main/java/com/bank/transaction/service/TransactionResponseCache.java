@@ -0,0 +1,59 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.TransactionResponse;
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded cache of {@link TransactionResponse} by transactionId. Only terminal statuses are cached since
+ * COMPLETED and FAILED transactions never change. Size, expiry and hit/miss/eviction metrics are configured
+ * under {@code quarkus.cache.caffeine.transactions}.
+ */
+@ApplicationScoped
+public class TransactionResponseCache {
+
+    @Inject
+    @CacheName("transactions")
+    Cache cache;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    public TransactionResponse get(String transactionId) {
+        CompletableFuture<Object> cached = cache.as(CaffeineCache.class).getIfPresent(transactionId);
+        return cached == null ? null : (TransactionResponse) cached.join();
+    }
+
+    public void put(TransactionResponse response) {
+        if (response.status == TransactionStatus.COMPLETED || response.status == TransactionStatus.FAILED) {
+            cache.as(CaffeineCache.class).put(response.transactionId, CompletableFuture.completedFuture(response));
+        }
+    }
+
+    /**
+     * Caches the response once the current transaction commits, so a rolled back transfer is never served.
+     */
+    public void putAfterCommit(TransactionResponse response) {
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    put(response);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,555 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.AccountSummary.Granularity;
+import com.bank.transaction.dto.RollupRebuildStatus;
+import com.bank.transaction.entity.AccountDailyRollup;
+import com.bank.transaction.entity.AccountDailyRollup.Direction;
+import com.bank.transaction.entity.AccountRollupDelta;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.exception.InvalidTransactionException;
+import com.bank.transaction.exception.RebuildRunningException;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.datasource.common.runtime.DatabaseKind;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.hibernate.query.NativeQuery;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-account daily rollups of transfers ({@link AccountDailyRollup}), enabled with
+ * {@code transaction.rollups.enabled}, so an account summary reads a few rows per day of its range instead of the
+ * account's history. Every write path inserts its transfers as {@link AccountRollupDelta} rows in the transaction
+ * that inserts them, so they commit and roll back with the transfers. Transfers never update a rollup row, so a
+ * busy account does not serialize the transfers into it. {@link #fold} adds the deltas to the rollups every
+ * {@code fold-interval}, and summaries read both. Without rollups, summaries are aggregated from
+ * {@code transactions} on the fly.
+ * <p>
+ * {@link #rebuild} recomputes the rollups of a range of days from {@code transactions} in the background, in chunks
+ * of {@code rebuild-chunk-days} days run {@code rebuild-parallelism} at a time on the managed executor. A chunk
+ * replaces its rollups and the deltas it can see in one repeatable-read transaction. Deltas committed after that
+ * transaction started are left for the next fold. A chunk that keeps failing is reported in the rebuild status,
+ * and the other chunks are still rebuilt. Folding pauses while this instance rebuilds.
+ */
+@ApplicationScoped
+public class TransactionRollups {
+
+    private static final String TABLE = "account_daily_rollups";
+    private static final String DELTA_TABLE = "account_rollup_deltas";
+    private static final String COLUMNS =
+            "account_id, rollup_date, status, direction, transfer_count, total_amount, min_amount, max_amount";
+    private static final String KEY = "account_id, rollup_date, status, direction";
+    // Adds the incoming row %s to the existing row r
+    private static final String ACCUMULATE = "transfer_count = r.transfer_count + %1$s.transfer_count,"
+            + " total_amount = r.total_amount + %1$s.total_amount,"
+            + " min_amount = least(r.min_amount, %1$s.min_amount),"
+            + " max_amount = greatest(r.max_amount, %1$s.max_amount)";
+    // Rollup rows of the transfers matching the outgoing (%1$s) and incoming (%2$s) filters. A timestamp range only
+    // visits the matching partitions once the table is partitioned by month.
+    private static final String AGGREGATE = "select source_account_id as account_id,"
+            + " cast(timestamp as date) as rollup_date, status, 'OUT' as direction, count(*) as transfer_count,"
+            + " sum(amount) as total_amount, min(amount) as min_amount, max(amount) as max_amount"
+            + " from transactions where %1$s group by source_account_id, cast(timestamp as date), status"
+            + " union all select target_account_id, cast(timestamp as date), status, 'IN', count(*), sum(amount),"
+            + " min(amount), max(amount)"
+            + " from transactions where %2$s group by target_account_id, cast(timestamp as date), status";
+    private static final String ROW = "select cast(?%d as varchar(255)), cast(?%d as date),"
+            + " cast(?%d as varchar(255)), cast(?%d as varchar(8)), cast(?%d as bigint),"
+            + " cast(?%d as numeric(19, 2)), cast(?%d as numeric(19, 2)), cast(?%d as numeric(19, 2))";
+    private static final int PARAMETERS_PER_ROW = 8;
+    // Keeps a statement well below the JDBC drivers' parameter limits
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final int REBUILD_ATTEMPTS = 5;
+    private static final long REBUILD_RETRY_DELAY_MS = 100;
+    // Rows are upserted in this order, so concurrent writers lock shared rows in the same order
+    private static final Comparator<AccountDailyRollup.Key> KEY_ORDER = Comparator
+            .comparing((AccountDailyRollup.Key key) -> key.accountId)
+            .thenComparing(key -> key.date)
+            .thenComparing(key -> key.status)
+            .thenComparing(key -> key.direction);
+
+    @Inject
+    Logger logger;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @ConfigProperty(name = "transaction.rollups.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "transaction.rollups.rebuild-chunk-days", defaultValue = "7")
+    int rebuildChunkDays;
+
+    @ConfigProperty(name = "transaction.rollups.rebuild-parallelism", defaultValue = "4")
+    int rebuildParallelism;
+
+    @ConfigProperty(name = "transaction.rollups.fold-batch-size", defaultValue = "1000")
+    int foldBatchSize;
+
+    @Inject
+    ManagedExecutor executor;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Rebuild lastRebuild;
+    private String rebuildStatement;
+
+    /**
+     * Progress of one rebuild, updated by its chunks.
+     */
+    private static final class Rebuild {
+        final LocalDate from;
+        final LocalDate to;
+        final int chunks;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicInteger completedChunks = new AtomicInteger();
+        final AtomicLong rows = new AtomicLong();
+        final List<LocalDate> failedChunks = new CopyOnWriteArrayList<>();
+        volatile LocalDateTime finishedAt;
+
+        Rebuild(LocalDate from, LocalDate to, int chunks) {
+            this.from = from;
+            this.to = to;
+            this.chunks = chunks;
+        }
+
+        RollupRebuildStatus status() {
+            LocalDateTime finished = finishedAt;
+            RollupRebuildStatus.State state = finished == null ? RollupRebuildStatus.State.RUNNING
+                    : failedChunks.isEmpty() ? RollupRebuildStatus.State.COMPLETED
+                    : RollupRebuildStatus.State.FAILED;
+            return new RollupRebuildStatus(state, from, to, chunks, completedChunks.get(),
+                    failedChunks.stream().sorted().toList(), rows.get(), startedAt, finished);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        rebuildStatement = upsert(AGGREGATE.formatted("timestamp >= ? and timestamp < ?",
+                "timestamp >= ? and timestamp < ?"));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void add(Transaction transaction) {
+        add(List.of(transaction));
+    }
+
+    /**
+     * Records the transfers as deltas of the rollups of their source and target accounts in the current
+     * transaction. Only inserts, so concurrent transfers on the same accounts do not wait on each other.
+     */
+    public void add(List<Transaction> transactions) {
+        if (!enabled || transactions.isEmpty()) {
+            return;
+        }
+        Map<AccountDailyRollup.Key, AccountDailyRollup> rollups = new TreeMap<>(KEY_ORDER);
+        for (Transaction transaction : transactions) {
+            LocalDate date = transaction.timestamp.toLocalDate();
+            accumulate(rollups, new AccountDailyRollup.Key(transaction.sourceAccountId, date, transaction.status,
+                    Direction.OUT), transaction.amount);
+            accumulate(rollups, new AccountDailyRollup.Key(transaction.targetAccountId, date, transaction.status,
+                    Direction.IN), transaction.amount);
+        }
+        AccountRollupDelta.persist(rollups.values().stream().map(AccountRollupDelta::new));
+    }
+
+    @Scheduled(every = "${transaction.rollups.fold-interval:1s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFold() {
+        if (!enabled || rebuilding.get()) {
+            return;
+        }
+        int folded;
+        do {
+            folded = fold();
+        } while (folded == foldBatchSize && !rebuilding.get());
+    }
+
+    /**
+     * Adds up to {@code fold-batch-size} of the oldest deltas to the daily rollups and deletes them, returning the
+     * number of deltas folded. Deltas locked by another instance folding them are skipped.
+     */
+    @Transactional
+    public int fold() {
+        List<AccountRollupDelta> deltas = AccountRollupDelta.lockOldest(foldBatchSize);
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        Map<AccountDailyRollup.Key, AccountDailyRollup> rollups = new TreeMap<>(KEY_ORDER);
+        List<Long> ids = new ArrayList<>(deltas.size());
+        for (AccountRollupDelta delta : deltas) {
+            merge(rollups, delta);
+            ids.add(delta.id);
+        }
+        upsert(new ArrayList<>(rollups.values()));
+        AccountRollupDelta.deleteByIds(ids);
+        return deltas.size();
+    }
+
+    /**
+     * Adds the rows to the daily rollups, in key order, so concurrent folds lock shared rows in the same order.
+     */
+    private void upsert(List<AccountDailyRollup> rows) {
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<AccountDailyRollup> statementRows = rows.subList(from,
+                    Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+            StringJoiner source = new StringJoiner(" union all ");
+            for (int i = 0; i < statementRows.size(); i++) {
+                Object[] parameters = new Object[PARAMETERS_PER_ROW];
+                for (int p = 0; p < PARAMETERS_PER_ROW; p++) {
+                    parameters[p] = i * PARAMETERS_PER_ROW + p + 1;
+                }
+                source.add(ROW.formatted(parameters));
+            }
+
+            Query query = AccountDailyRollup.getEntityManager().createNativeQuery(upsert(source.toString()));
+            // Only the deltas' deletion is pending, and it does not touch this table
+            query.unwrap(NativeQuery.class).addSynchronizedEntityClass(AccountDailyRollup.class);
+            int parameter = 1;
+            for (AccountDailyRollup row : statementRows) {
+                query.setParameter(parameter++, row.accountId);
+                query.setParameter(parameter++, row.date);
+                query.setParameter(parameter++, row.status.name());
+                query.setParameter(parameter++, row.direction.name());
+                query.setParameter(parameter++, row.count);
+                query.setParameter(parameter++, row.total);
+                query.setParameter(parameter++, row.min);
+                query.setParameter(parameter++, row.max);
+            }
+            query.executeUpdate();
+        }
+    }
+
+    /**
+     * Summary of the account's transfers from {@code from} (a year before {@code to} by default) to {@code to}
+     * (today by default), both inclusive, per {@code granularity} (MONTH by default).
+     */
+    public AccountSummary summarize(String accountId, String from, String to, String granularity) {
+        LocalDate toDate = to == null ? LocalDate.now() : parseDate("to", to);
+        LocalDate fromDate = from == null ? toDate.minusYears(1).plusDays(1) : parseDate("from", from);
+        if (fromDate.isAfter(toDate)) {
+            throw new InvalidTransactionException("from must not be after to");
+        }
+        Granularity periods;
+        try {
+            periods = granularity == null ? Granularity.MONTH : Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTransactionException("Granularity must be DAY or MONTH", e);
+        }
+        return summarize(accountId, fromDate, toDate, periods, findByAccountId(accountId, fromDate, toDate));
+    }
+
+    private List<AccountDailyRollup> findByAccountId(String accountId, LocalDate from, LocalDate to) {
+        if (enabled) {
+            // Deltas not folded yet are summed like the rollups they will be added to
+            List<AccountDailyRollup> rollups = new ArrayList<>(AccountDailyRollup.findByAccountId(accountId, from, to));
+            AccountRollupDelta.findByAccountId(accountId, from, to).forEach(delta -> rollups.add(delta.toRollup()));
+            return rollups;
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = AccountDailyRollup.getEntityManager().createNativeQuery(AGGREGATE.formatted(
+                        "source_account_id = ?1 and timestamp >= ?2 and timestamp < ?3",
+                        "target_account_id = ?1 and timestamp >= ?2 and timestamp < ?3"))
+                .setParameter(1, accountId)
+                .setParameter(2, from.atStartOfDay())
+                .setParameter(3, to.plusDays(1).atStartOfDay())
+                .getResultList();
+        List<AccountDailyRollup> rollups = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            AccountDailyRollup rollup = new AccountDailyRollup();
+            rollup.accountId = (String) row[0];
+            rollup.date = row[1] instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) row[1];
+            rollup.status = TransactionStatus.valueOf(row[2].toString());
+            rollup.direction = Direction.valueOf(row[3].toString().trim());
+            rollup.count = ((Number) row[4]).longValue();
+            rollup.total = (BigDecimal) row[5];
+            rollup.min = (BigDecimal) row[6];
+            rollup.max = (BigDecimal) row[7];
+            rollups.add(rollup);
+        }
+        return rollups;
+    }
+
+    /**
+     * Folds daily rollups into periods of {@code granularity}, each starting on its first day within the range,
+     * and into totals per status.
+     */
+    static AccountSummary summarize(String accountId, LocalDate from, LocalDate to, Granularity granularity,
+                                    Collection<AccountDailyRollup> rollups) {
+        Map<LocalDate, Map<TransactionStatus, AccountSummary.Period>> periods = new TreeMap<>();
+        Map<TransactionStatus, AccountSummary.Totals> totals = new EnumMap<>(TransactionStatus.class);
+        for (AccountDailyRollup rollup : rollups) {
+            LocalDate start = granularity == Granularity.MONTH ? rollup.date.withDayOfMonth(1) : rollup.date;
+            if (start.isBefore(from)) {
+                start = from;
+            }
+            LocalDate periodStart = start;
+            AccountSummary.Period period = periods.computeIfAbsent(start, k -> new EnumMap<>(TransactionStatus.class))
+                    .computeIfAbsent(rollup.status, status -> {
+                        AccountSummary.Period created = new AccountSummary.Period();
+                        created.start = periodStart;
+                        created.status = status;
+                        return created;
+                    });
+            AccountSummary.Totals total = totals.computeIfAbsent(rollup.status, status -> {
+                AccountSummary.Totals created = new AccountSummary.Totals();
+                created.status = status;
+                return created;
+            });
+            add(period, rollup);
+            add(total, rollup);
+        }
+
+        List<AccountSummary.Period> summaryPeriods = new ArrayList<>();
+        periods.values().forEach(byStatus -> summaryPeriods.addAll(byStatus.values()));
+        return new AccountSummary(accountId, from, to, granularity, summaryPeriods,
+                new ArrayList<>(totals.values()));
+    }
+
+    /**
+     * Starts recomputing the rollups of the days from {@code from} to {@code to}, both inclusive, from the
+     * transactions table, and returns its status. Without dates, the days of the oldest and newest transaction are
+     * used. The rebuild runs in the background; {@link #rebuildStatus} follows it.
+     */
+    public RollupRebuildStatus rebuild(String from, String to) {
+        if (!enabled) {
+            throw new InvalidTransactionException("Rollups are disabled, see transaction.rollups.enabled");
+        }
+        LocalDate fromDate = from == null ? null : parseDate("from", from);
+        LocalDate toDate = to == null ? null : parseDate("to", to);
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new InvalidTransactionException("from must not be after to");
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new RebuildRunningException("A rollup rebuild is already running");
+        }
+        try {
+            if (fromDate == null || toDate == null) {
+                LocalDate[] range = transactionDates();
+                if (range == null) {
+                    Rebuild rebuild = new Rebuild(null, null, 0);
+                    rebuild.finishedAt = rebuild.startedAt;
+                    lastRebuild = rebuild;
+                    rebuilding.set(false);
+                    return rebuild.status();
+                }
+                fromDate = fromDate == null ? range[0] : fromDate;
+                toDate = toDate == null ? range[1] : toDate;
+            }
+            if (fromDate.isAfter(toDate)) {
+                throw new InvalidTransactionException("from must not be after to");
+            }
+            return startRebuild(fromDate, toDate).status();
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Status of the running or latest rebuild since this instance started, null when there was none.
+     */
+    public RollupRebuildStatus rebuildStatus() {
+        Rebuild rebuild = lastRebuild;
+        return rebuild == null ? null : rebuild.status();
+    }
+
+    private Rebuild startRebuild(LocalDate from, LocalDate to) {
+        Queue<LocalDate> starts = new ConcurrentLinkedQueue<>();
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(rebuildChunkDays)) {
+            starts.add(start);
+        }
+        Rebuild rebuild = new Rebuild(from, to, starts.size());
+        lastRebuild = rebuild;
+        logger.infof("Rebuilding rollups from %s to %s in %d chunks", from, to, rebuild.chunks);
+
+        // Each worker takes the next chunk until none are left, so at most rebuild-parallelism run at a time
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(rebuildParallelism, rebuild.chunks)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = executor.runAsync(() -> {
+                for (LocalDate start; (start = starts.poll()) != null; ) {
+                    LocalDate end = start.plusDays(rebuildChunkDays).isAfter(to) ? to.plusDays(1)
+                            : start.plusDays(rebuildChunkDays);
+                    try {
+                        rebuild.rows.addAndGet(rebuildChunk(start, end));
+                        rebuild.completedChunks.incrementAndGet();
+                    } catch (SQLException | RuntimeException e) {
+                        rebuild.failedChunks.add(start);
+                        logger.errorf(e, "Could not rebuild the rollups from %s to %s", start, end.minusDays(1));
+                    }
+                }
+            });
+        }
+        CompletableFuture.allOf(workers).whenComplete((ignored, failure) -> {
+            rebuild.finishedAt = LocalDateTime.now();
+            rebuilding.set(false);
+            logger.infof("Rebuilt %d rollups from %s to %s, %d of %d chunks failed", rebuild.rows.get(), from, to,
+                    rebuild.failedChunks.size(), rebuild.chunks);
+        });
+        return rebuild;
+    }
+
+    /**
+     * Replaces the rollups and visible deltas of the days from {@code start} to {@code end} (exclusive), returning
+     * the rows written. Retried when a concurrent fold changed the same rows.
+     */
+    private int rebuildChunk(LocalDate start, LocalDate end) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                try (PreparedStatement delete = connection.prepareStatement(
+                             "delete from " + TABLE + " where rollup_date >= ? and rollup_date < ?");
+                     PreparedStatement deleteDeltas = connection.prepareStatement(
+                             "delete from " + DELTA_TABLE + " where rollup_date >= ? and rollup_date < ?");
+                     PreparedStatement insert = connection.prepareStatement(rebuildStatement)) {
+                    for (PreparedStatement statement : List.of(delete, deleteDeltas)) {
+                        statement.setObject(1, start);
+                        statement.setObject(2, end);
+                        statement.executeUpdate();
+                    }
+                    for (int parameter = 1; parameter <= 4; parameter += 2) {
+                        insert.setObject(parameter, start.atStartOfDay());
+                        insert.setObject(parameter + 1, end.atStartOfDay());
+                    }
+                    int rows = insert.executeUpdate();
+                    connection.commit();
+                    return rows;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    if (!SERIALIZATION_FAILURE.equals(e.getSQLState()) || attempt == REBUILD_ATTEMPTS) {
+                        throw e;
+                    }
+                    logger.debugf("Rollups from %s to %s changed during rebuild, retrying", start, end);
+                } finally {
+                    connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                    connection.setAutoCommit(true);
+                }
+            }
+            // Backs off without holding a connection, so the conflicting fold can commit
+            try {
+                Thread.sleep(REBUILD_RETRY_DELAY_MS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Rollup rebuild interrupted", e);
+            }
+        }
+    }
+
+    private LocalDate[] transactionDates() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "select min(timestamp), max(timestamp) from transactions");
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            LocalDateTime oldest = result.getObject(1, LocalDateTime.class);
+            LocalDateTime newest = result.getObject(2, LocalDateTime.class);
+            return oldest == null ? null : new LocalDate[] {oldest.toLocalDate(), newest.toLocalDate()};
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the transactions date range: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Upsert of the rows selected by {@code source} that adds them to existing rollups.
+     */
+    private String upsert(String source) {
+        if (DatabaseKind.isPostgreSQL(dbKind)) {
+            // Unlike MERGE, safe against a concurrent insert of the same key
+            return "insert into " + TABLE + " as r (" + COLUMNS + ") " + source
+                    + " on conflict (" + KEY + ") do update set " + ACCUMULATE.formatted("excluded");
+        }
+        return "merge into " + TABLE + " r using (" + source + ") s (" + COLUMNS + ")"
+                + " on r.account_id = s.account_id and r.rollup_date = s.rollup_date and r.status = s.status"
+                + " and r.direction = s.direction"
+                + " when matched then update set " + ACCUMULATE.formatted("s")
+                + " when not matched then insert (" + COLUMNS + ") values (s." + COLUMNS.replace(", ", ", s.") + ")";
+    }
+
+    private static void accumulate(Map<AccountDailyRollup.Key, AccountDailyRollup> rollups,
+                                   AccountDailyRollup.Key key, BigDecimal amount) {
+        AccountDailyRollup rollup = rollups.computeIfAbsent(key, k -> {
+            AccountDailyRollup created = new AccountDailyRollup();
+            created.accountId = k.accountId;
+            created.date = k.date;
+            created.status = k.status;
+            created.direction = k.direction;
+            created.total = BigDecimal.ZERO;
+            created.min = amount;
+            created.max = amount;
+            return created;
+        });
+        rollup.count++;
+        rollup.total = rollup.total.add(amount);
+        rollup.min = rollup.min.min(amount);
+        rollup.max = rollup.max.max(amount);
+    }
+
+    private static void merge(Map<AccountDailyRollup.Key, AccountDailyRollup> rollups, AccountRollupDelta delta) {
+        AccountDailyRollup rollup = rollups.get(
+                new AccountDailyRollup.Key(delta.accountId, delta.date, delta.status, delta.direction));
+        if (rollup == null) {
+            rollup = delta.toRollup();
+            rollups.put(new AccountDailyRollup.Key(delta.accountId, delta.date, delta.status, delta.direction),
+                    rollup);
+            return;
+        }
+        rollup.count += delta.count;
+        rollup.total = rollup.total.add(delta.total);
+        rollup.min = rollup.min.min(delta.min);
+        rollup.max = rollup.max.max(delta.max);
+    }
+
+    private static void add(AccountSummary.Totals totals, AccountDailyRollup rollup) {
+        AccountSummary.Flow flow = rollup.direction == Direction.IN ? totals.inflow : totals.outflow;
+        flow.count += rollup.count;
+        flow.total = flow.total.add(rollup.total);
+        flow.min = flow.min == null ? rollup.min : flow.min.min(rollup.min);
+        flow.max = flow.max == null ? rollup.max : flow.max.max(rollup.max);
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidTransactionException(name + " must be a date such as 2024-01-31: " + value, e);
+        }
+    }
+}
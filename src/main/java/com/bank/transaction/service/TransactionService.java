@@ -3,30 +3,70 @@ package com.bank.transaction.service;
 import com.bank.transaction.client.account.dto.Account;
 import com.bank.transaction.client.account.dto.BalanceValidationResponse;
 import com.bank.transaction.client.customer.dto.CustomerValidationResponse;
+import com.bank.transaction.dto.BatchTransferResponse;
+import com.bank.transaction.dto.BatchTransferResult;
+import com.bank.transaction.dto.TransactionPage;
 import com.bank.transaction.dto.TransactionResponse;
 import com.bank.transaction.dto.TransferRequest;
 import com.bank.transaction.entity.Transaction;
 import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.exception.DownstreamUnavailableException;
 import com.bank.transaction.exception.InvalidTransactionException;
 import com.bank.transaction.exception.TransactionNotFoundException;
+import com.bank.transaction.metrics.TransferMetrics;
+import com.bank.transaction.metrics.TransferMetrics.Stage;
+import com.bank.transaction.client.account.AccountLookup;
 import com.bank.transaction.client.account.AccountServiceClient;
 import com.bank.transaction.client.customer.CustomerServiceClient;
 import com.bank.transaction.producer.TransactionEventProducer;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class TransactionService {
 
+    private static final String CURSOR_SEPARATOR = "|";
+
     @Inject
     Logger logger;
 
@@ -38,30 +78,157 @@ public class TransactionService {
     @RestClient
     CustomerServiceClient customerServiceClient;
 
+    @Inject
+    AccountLookup accountLookup;
+
     @Inject
     TransactionEventProducer eventProducer;
 
+    @Inject
+    TransactionFailureRecorder failureRecorder;
+
+    @Inject
+    TransactionResponseCache responseCache;
+
+    @Inject
+    BalanceProjection balanceProjection;
+
+    @Inject
+    AccountLockManager accountLocks;
+
+    @Inject
+    GroupCommitWriter groupCommitWriter;
+
+    @Inject
+    ReadReplicaRouter readReplica;
+
+    @Inject
+    TransactionRollups rollups;
+
+    @Inject
+    TransferMetrics metrics;
+
+    @Inject
+    TransferLogSampler logSampler;
+
     @Inject
     JsonWebToken jwt;
 
+    @Inject
+    SecurityIdentity identity;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    @VirtualThreads
+    ExecutorService virtualThreadExecutor;
+
+    @ConfigProperty(name = "quarkus.virtual-threads.enabled", defaultValue = "true")
+    boolean virtualThreadsEnabled;
+
+    @ConfigProperty(name = "transaction.batch.max-size", defaultValue = "5000")
+    int batchMaxSize;
+
+    @ConfigProperty(name = "transaction.history.default-page-size", defaultValue = "50")
+    int historyDefaultPageSize;
+
+    @ConfigProperty(name = "transaction.history.max-page-size", defaultValue = "500")
+    int historyMaxPageSize;
+
+    @ConfigProperty(name = "transaction.history.fetch-size", defaultValue = "500")
+    int historyFetchSize;
+
+    @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50")
+    int jdbcBatchSize;
+
+    @ConfigProperty(name = "transaction.validation.threads", defaultValue = "50")
+    int validationThreads;
+
+    @ConfigProperty(name = "transaction.validation.timeout", defaultValue = "PT10S")
+    Duration validationTimeout;
+
+    // Runs the remote checks outside the worker pool, whose threads block waiting for them
+    private Executor validationExecutor;
+    // Null in virtual-thread mode
+    private ExecutorService validationPool;
+
+    @PostConstruct
+    void init() {
+        if (virtualThreadsEnabled) {
+            // Virtual threads are not pooled, so the checks in flight are capped here: the blocking clients reject
+            // calls beyond their bulkhead instead of queueing them
+            Semaphore slots = new Semaphore(validationThreads);
+            validationExecutor = task -> virtualThreadExecutor.execute(() -> {
+                slots.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    slots.release();
+                }
+            });
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        validationPool = Executors.newFixedThreadPool(validationThreads, runnable -> {
+            Thread thread = new Thread(runnable, "transfer-validation-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        validationExecutor = validationPool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (validationPool != null) {
+            validationPool.shutdownNow();
+        }
+    }
+
     @Transactional
     public TransactionResponse processTransfer(TransferRequest request) {
-        logger.infof("Processing transfer from %s to %s, amount: %s", 
-                    request.sourceAccountId, request.targetAccountId, request.amount);
+        return processTransfer(request, null);
+    }
+
+    /**
+     * Processes a transfer, storing the client's idempotency key (may be null) and the caller it belongs to on the
+     * transaction row. Deduplication itself is handled by {@link IdempotentTransferService}.
+     */
+    @Transactional
+    public TransactionResponse processTransfer(TransferRequest request, String idempotencyKey) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Processing transfer from %s to %s, amount: %s",
+                        request.sourceAccountId, request.targetAccountId, request.amount);
+        }
 
         String transactionId = UUID.randomUUID().toString();
         String authHeader = "Bearer " + jwt.getRawToken();
+        String principal = identity.getPrincipal().getName();
 
         validateTransferRequest(request);
 
-        Account sourceAccount = validateAccount(request.sourceAccountId, authHeader);
-        Account targetAccount = validateAccount(request.targetAccountId, authHeader);
+        // Held until this transaction completes, so no other debit of the source is validated in between. The next
+        // balance check only sees this debit once account-service has consumed its event, see AccountLockManager.
+        accountLocks.lockUntilCompletion(List.of(request.sourceAccountId));
 
-        // capacity not available in customer service, TBA
-        //validateCustomerOwnership(sourceAccount.customerId, authHeader);
+        try {
+            validateRemotely(request, transactionId, authHeader);
+        } catch (RuntimeException e) {
+            balanceProjection.release(transactionId);
+            throw e;
+        }
 
-        validateSufficientBalance(request.sourceAccountId, request.amount, authHeader);
+        return completeTransfer(request, transactionId, principal, idempotencyKey);
+    }
 
+    /**
+     * Records an already validated transfer together with its completed event, or its failure in a transaction of
+     * its own. Shared by the blocking path above and {@link ReactiveValidationService}. With group commit enabled
+     * the transfer is written by {@link GroupCommitWriter} and is committed when this method returns.
+     */
+    @Transactional
+    TransactionResponse completeTransfer(TransferRequest request, String transactionId, String principal,
+                                         String idempotencyKey) {
         Transaction transaction = new Transaction(
             transactionId,
             request.sourceAccountId,
@@ -69,51 +236,243 @@ public class TransactionService {
             request.amount,
             request.description
         );
+        // Persisted with its final status so the commit flushes a single INSERT
+        transaction.status = TransactionStatus.COMPLETED;
+        if (idempotencyKey != null) {
+            transaction.idempotencyKey = idempotencyKey;
+            transaction.idempotencyOwner = principal;
+        }
 
         try {
-            transaction.persist();
+            boolean grouped = groupCommitWriter.isEnabled();
+            if (grouped) {
+                // Inserted and committed with other transfers by the writer thread, so the whole wait is the commit
+                metrics.time(Stage.COMMIT, () -> groupCommitWriter.write(transaction));
+            } else {
+                // The INSERT is flushed at commit, so it is timed there
+                metrics.timeCommit();
+                balanceProjection.applyAfterCommit(transaction);
+                readReplica.recordWriteAfterCommit(transaction);
 
-            transaction.status = TransactionStatus.COMPLETED;
-            transaction.persist();
+                metrics.time(Stage.PERSIST, () -> transaction.persist());
 
-            eventProducer.publishTransactionCompleted(transaction);
+                metrics.time(Stage.PUBLISH, () -> eventProducer.publishTransactionCompleted(transaction));
+                rollups.add(transaction);
+            }
 
-            logger.infof("Transaction completed successfully: %s", transactionId);
-            return mapToResponse(transaction);
+            if (logSampler.sample()) {
+                logger.infof("Transaction completed successfully: %s (1 in %d logged)", transactionId, logSampler.rate());
+            } else if (logger.isDebugEnabled()) {
+                logger.debugf("Transaction completed successfully: %s", transactionId);
+            }
+            TransactionResponse response = mapToResponse(transaction);
+            if (grouped) {
+                responseCache.put(response);
+            } else {
+                responseCache.putAfterCommit(response);
+            }
+            return response;
 
         } catch (Exception e) {
             logger.errorf("Transaction failed: %s, error: %s", transactionId, e.getMessage());
-            
-            transaction.status = TransactionStatus.FAILED;
-            transaction.persist();
 
-            eventProducer.publishTransactionFailed(transaction, e.getMessage());
+            // This transaction rolls back on the rethrow below, so the failure and its event are recorded in their own
+            Transaction failed = failureRecorder.recordFailure(transaction, e.getMessage());
+            responseCache.put(mapToResponse(failed));
 
             throw new InvalidTransactionException("Transaction failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Processes a batch of transfers in a single transaction. Account lookups are deduplicated across the
+     * batch, balance is checked once per source account for the sum it is debited, rows are inserted through
+     * JDBC batching and the completed events are published together. Each item gets its own result; a
+     * rejected item does not fail the rest of the batch.
+     */
+    @Transactional
+    public BatchTransferResponse processTransferBatch(List<TransferRequest> requests) {
+        if (requests.size() > batchMaxSize) {
+            throw new InvalidTransactionException("Batch cannot exceed " + batchMaxSize + " transfers");
+        }
+        logger.infof("Processing transfer batch of %d items", requests.size());
+
+        String authHeader = "Bearer " + jwt.getRawToken();
+        String[] rejections = new String[requests.size()];
+
+        Map<String, BigDecimal> debitsBySource = new HashMap<>();
+        Set<String> accountIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            rejections[i] = checkRequest(request);
+            if (rejections[i] == null) {
+                accountIds.add(request.sourceAccountId);
+                accountIds.add(request.targetAccountId);
+                debitsBySource.merge(request.sourceAccountId, request.amount, BigDecimal::add);
+            }
+        }
+
+        // Only the debited accounts, taken together in stripe order
+        accountLocks.lockUntilCompletion(debitsBySource.keySet());
+        Map<String, String> accountRejections = validateRemotely(accountIds, debitsBySource, authHeader);
+
+        List<Transaction> transactions = new ArrayList<>();
+        List<BatchTransferResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            if (rejections[i] == null) {
+                rejections[i] = accountRejections.get(request.sourceAccountId);
+            }
+            if (rejections[i] == null) {
+                rejections[i] = accountRejections.get(request.targetAccountId);
+            }
+            if (rejections[i] != null) {
+                results.add(new BatchTransferResult(i, rejections[i]));
+                continue;
+            }
+
+            Transaction transaction = new Transaction(
+                UUID.randomUUID().toString(),
+                request.sourceAccountId,
+                request.targetAccountId,
+                request.amount,
+                request.description
+            );
+            transaction.status = TransactionStatus.COMPLETED;
+            balanceProjection.applyAfterCommit(transaction);
+            readReplica.recordWriteAfterCommit(transaction);
+            transactions.add(transaction);
+            results.add(null);
+        }
+
+        persistInBatches(transactions);
+        eventProducer.publishTransactionsCompleted(transactions);
+        rollups.add(transactions);
+
+        Iterator<Transaction> persisted = transactions.iterator();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                TransactionResponse response = mapToResponse(persisted.next());
+                responseCache.putAfterCommit(response);
+                results.set(i, new BatchTransferResult(i, response));
+            }
+        }
+
+        logger.infof("Transfer batch completed: %d of %d transfers", transactions.size(), requests.size());
+        return new BatchTransferResponse(results, transactions.size());
+    }
+
     public TransactionResponse getTransaction(String transactionId) {
-        logger.infof("Getting transaction: %s", transactionId);
-        
-        Transaction transaction = Transaction.findByTransactionId(transactionId);
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Getting transaction: %s", transactionId);
+        }
+
+        TransactionResponse cached = responseCache.get(transactionId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Transaction transaction = readReplica.findByTransactionId(transactionId);
+        if (transaction == null) {
+            transaction = Transaction.findByTransactionId(transactionId);
+        }
         if (transaction == null) {
             throw new TransactionNotFoundException("Transaction not found: " + transactionId);
         }
-        
-        return mapToResponse(transaction);
+
+        TransactionResponse response = mapToResponse(transaction);
+        responseCache.put(response);
+        return response;
     }
 
     public List<TransactionResponse> getAccountTransactions(String accountId) {
-        logger.infof("Getting transactions for account: %s", accountId);
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Getting transactions for account: %s", accountId);
+        }
         
-        List<Transaction> transactions = Transaction.findByAccountId(accountId);
+        List<Transaction> transactions = readReplica.findPageByAccountId(accountId, null, null, 0);
+        if (transactions == null) {
+            transactions = Transaction.findByAccountId(accountId);
+        }
         return transactions.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
-    private void validateTransferRequest(TransferRequest request) {
+    public TransactionPage getAccountTransactionsPage(String accountId, Integer limit, String next) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Getting transaction page for account: %s", accountId);
+        }
+
+        int pageSize = limit == null ? historyDefaultPageSize : limit;
+        if (pageSize < 1 || pageSize > historyMaxPageSize) {
+            throw new InvalidTransactionException("Page limit must be between 1 and " + historyMaxPageSize);
+        }
+
+        LocalDateTime afterTimestamp = null;
+        Long afterId = null;
+        if (next != null) {
+            String[] cursor = decodeCursor(next);
+            afterTimestamp = LocalDateTime.parse(cursor[0]);
+            afterId = Long.valueOf(cursor[1]);
+        }
+
+        // One extra row tells whether there is a next page without a count query
+        List<Transaction> transactions =
+                readReplica.findPageByAccountId(accountId, afterTimestamp, afterId, pageSize + 1);
+        if (transactions == null) {
+            transactions = Transaction.findPageByAccountId(accountId, afterTimestamp, afterId, pageSize + 1);
+        }
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            Transaction last = transactions.get(pageSize - 1);
+            nextCursor = encodeCursor(last.timestamp, last.id);
+        }
+
+        return new TransactionPage(transactions.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Streams the whole history of an account to {@code consumer}, reading it in bounded chunks and
+     * detaching every row once mapped so memory stays flat regardless of the account size.
+     */
+    @Transactional
+    public void streamAccountTransactions(String accountId, Consumer<TransactionResponse> consumer) {
+        if (logger.isDebugEnabled()) {
+            logger.debugf("Streaming transactions for account: %s", accountId);
+        }
+
+        if (readReplica.streamByAccountId(accountId, historyFetchSize,
+                transaction -> consumer.accept(mapToResponse(transaction)))) {
+            return;
+        }
+
+        EntityManager entityManager = Transaction.getEntityManager();
+        try (Stream<Transaction> transactions = Transaction.streamByAccountId(accountId, historyFetchSize)) {
+            transactions.forEach(transaction -> {
+                consumer.accept(mapToResponse(transaction));
+                entityManager.detach(transaction);
+            });
+        }
+    }
+
+    private String checkRequest(TransferRequest request) {
+        Set<ConstraintViolation<TransferRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        try {
+            validateTransferRequest(request);
+            return null;
+        } catch (InvalidTransactionException e) {
+            return e.getMessage();
+        }
+    }
+
+    void validateTransferRequest(TransferRequest request) {
         if (request.sourceAccountId.equals(request.targetAccountId)) {
             throw new InvalidTransactionException("Source and target accounts cannot be the same");
         }
@@ -123,47 +482,189 @@ public class TransactionService {
         }
     }
 
-    private Account validateAccount(String accountId, String authHeader) {
+    /**
+     * Runs the account-service (and customer-service) checks concurrently, see {@link #remoteCheck(Supplier)}.
+     * The first rejection fails the whole stage and cancels the calls that have not completed yet,
+     * so a transfer costs roughly one remote round-trip instead of three. The balance call is skipped when
+     * {@link BalanceProjection} reserves the amount locally.
+     */
+    private void validateRemotely(TransferRequest request, String transactionId, String authHeader) {
+        Uni<Account> sourceAccount = remoteCheck(
+                () -> validateAccount(request.sourceAccountId, true, authHeader));
+        // capacity not available in customer service, TBA
+        //sourceAccount = sourceAccount.call(account ->
+        //        remoteCheck(() -> { validateCustomerOwnership(account.customerId, authHeader); return account; }));
+
+        Uni<Account> targetAccount = remoteCheck(
+                () -> validateAccount(request.targetAccountId, false, authHeader));
+        Uni<Void> balance = balanceProjection.tryReserve(transactionId, request.sourceAccountId, request.amount)
+                ? Uni.createFrom().voidItem()
+                : remoteCheck(() -> {
+                    validateSufficientBalance(request.sourceAccountId, request.amount, authHeader);
+                    return null;
+                });
+
+        awaitChecks(Uni.combine().all().unis(sourceAccount, targetAccount, balance).discardItems());
+    }
+
+    /**
+     * Batch counterpart of {@link #validateRemotely(TransferRequest, String, String)}: every distinct
+     * account is looked up once and every source account has its total debit checked once, all concurrently. Unlike
+     * the single transfer stage, failures are collected per account instead of failing fast.
+     *
+     * @return rejection message by account id, for the accounts that failed validation
+     */
+    private Map<String, String> validateRemotely(Set<String> accountIds, Map<String, BigDecimal> debitsBySource,
+                                                 String authHeader) {
+        Map<String, String> rejections = new ConcurrentHashMap<>();
+        List<Uni<Void>> checks = new ArrayList<>(accountIds.size() + debitsBySource.size());
+        for (String accountId : accountIds) {
+            checks.add(collectRejection(accountId, rejections,
+                    () -> validateAccount(accountId, debitsBySource.containsKey(accountId), authHeader)));
+        }
+        debitsBySource.forEach((accountId, total) -> checks.add(collectRejection(accountId, rejections,
+                () -> { validateSufficientBalance(accountId, total, authHeader); return null; })));
+
+        if (!checks.isEmpty()) {
+            awaitChecks(Uni.join().all(checks).andCollectFailures());
+        }
+        return rejections;
+    }
+
+    private Uni<Void> collectRejection(String accountId, Map<String, String> rejections, Supplier<?> check) {
+        return remoteCheck(check)
+                .onFailure().invoke(e -> rejections.putIfAbsent(accountId, e.getMessage()))
+                .onFailure().recoverWithNull()
+                .replaceWithVoid();
+    }
+
+    private void persistInBatches(List<Transaction> transactions) {
+        EntityManager entityManager = Transaction.getEntityManager();
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+    }
+
+    private void awaitChecks(Uni<?> checks) {
+        try {
+            checks.await().atMost(validationTimeout);
+        } catch (TimeoutException e) {
+            throw new DownstreamUnavailableException(
+                    "Remote validation did not complete within " + validationTimeout, e);
+        }
+    }
+
+    /**
+     * Runs a blocking remote check on a virtual thread in virtual-thread mode, on the validation pool
+     * otherwise, either way at most {@code transaction.validation.threads} at a time. Not on the worker pool: the
+     * request waiting for the checks already holds a worker, and once every worker waits for checks queued behind
+     * it, none would run.
+     */
+    private <T> Uni<T> remoteCheck(Supplier<T> call) {
+        return Uni.createFrom().item(call).runSubscriptionOn(validationExecutor);
+    }
+
+    /**
+     * Runs a blocking call on a virtual thread in virtual-thread mode, on the worker pool otherwise. For callers on
+     * the event loop, which must not block.
+     */
+    <T> Uni<T> offload(Supplier<T> call) {
+        return Uni.createFrom().item(call)
+                .runSubscriptionOn(virtualThreadsEnabled ? virtualThreadExecutor : Infrastructure.getDefaultWorkerPool());
+    }
+
+    /**
+     * @param debited whether the transfer debits the account, which is then looked up with the caller's
+     *                authorization instead of from the account cache
+     */
+    private Account validateAccount(String accountId, boolean debited, String authHeader) {
+        return metrics.time(Stage.VALIDATE_ACCOUNT, () -> checkAccount(accountId, debited, authHeader));
+    }
+
+    private Account checkAccount(String accountId, boolean debited, String authHeader) {
         try {
-            Account account = accountServiceClient.getAccount(accountId, authHeader);
+            Account account = debited
+                    ? accountLookup.getDebitedAccount(accountId, authHeader)
+                    : accountLookup.getAccount(accountId, authHeader);
             
             if (!"ACTIVE".equals(account.status)) {
                 throw new InvalidTransactionException("Account is not active: " + accountId);
             }
+            balanceProjection.seed(accountId, account.balance, account.fetchedAt);
             
             return account;
         } catch (Exception e) {
-            throw new InvalidTransactionException("Account validation failed for: " + accountId, e);
+            throw validationFailure("Account validation failed for: " + accountId, e);
         }
     }
 
     private void validateCustomerOwnership(Long customerId, String authHeader) {
         try {
-            CustomerValidationResponse validation =
-                customerServiceClient.validateCustomer(customerId, authHeader);
+            CustomerValidationResponse validation = metrics.timeClient("customer-service", "validateCustomer",
+                () -> customerServiceClient.validateCustomer(customerId, authHeader));
             
             if (!validation.valid) {
                 throw new InvalidTransactionException("Source account doesn't belong to customer: " + customerId);
             }
         } catch (Exception e) {
-            throw new InvalidTransactionException("Customer ownership validation failed", e);
+            throw validationFailure("Customer ownership validation failed", e);
         }
     }
 
     private void validateSufficientBalance(String accountId, BigDecimal amount, String authHeader) {
+        metrics.time(Stage.VALIDATE_BALANCE, () -> checkSufficientBalance(accountId, amount, authHeader));
+    }
+
+    private void checkSufficientBalance(String accountId, BigDecimal amount, String authHeader) {
         try {
-            BalanceValidationResponse validation =
-                accountServiceClient.validateBalance(accountId, amount, authHeader);
+            BalanceValidationResponse validation = metrics.timeClient("account-service", "validateBalance",
+                () -> accountServiceClient.validateBalance(accountId, amount, authHeader));
             
             if (!validation.hasBalance) {
                 throw new InvalidTransactionException("Insufficient funds in account: " + accountId);
             }
         } catch (Exception e) {
-            throw new InvalidTransactionException("Balance validation failed for account: " + accountId, e);
+            throw validationFailure("Balance validation failed for account: " + accountId, e);
+        }
+    }
+
+    /**
+     * Wraps a failed remote check: downstream outages surface as {@link DownstreamUnavailableException}, everything
+     * else rejects the transfer.
+     */
+    static RuntimeException validationFailure(String message, Throwable e) {
+        if (DownstreamUnavailableException.isCause(e)) {
+            return new DownstreamUnavailableException(message, e);
+        }
+        return new InvalidTransactionException(message, e);
+    }
+
+    private String encodeCursor(LocalDateTime timestamp, Long id) {
+        String cursor = timestamp + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String next) {
+        try {
+            String[] cursor = new String(Base64.getUrlDecoder().decode(next), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(CURSOR_SEPARATOR));
+            if (cursor.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime.parse(cursor[0]);
+            Long.parseLong(cursor[1]);
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new InvalidTransactionException("Invalid page token: " + next, e);
         }
     }
 
-    private TransactionResponse mapToResponse(Transaction transaction) {
+    TransactionResponse mapToResponse(Transaction transaction) {
         return new TransactionResponse(
             transaction.id,
             transaction.transactionId,
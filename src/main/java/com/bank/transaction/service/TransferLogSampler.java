@@ -0,0 +1,25 @@
+package com.bank.transaction.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which successful transfers get an INFO line, so the log shows steady traffic without paying for a line
+ * per request. Failures are always logged. Sampling is random per call, keeping it free of shared state.
+ */
+@ApplicationScoped
+public class TransferLogSampler {
+
+    @ConfigProperty(name = "transaction.logging.success-sample-rate", defaultValue = "100")
+    int successSampleRate;
+
+    public boolean sample() {
+        return successSampleRate <= 1 || ThreadLocalRandom.current().nextInt(successSampleRate) == 0;
+    }
+
+    public int rate() {
+        return Math.max(successSampleRate, 1);
+    }
+}
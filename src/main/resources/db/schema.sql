@@ -0,0 +1,81 @@
+-- Schema of the transaction service (PostgreSQL). Hibernate does not create or update the schema outside the dev
+-- and test profiles, so apply this once to a new, empty database before starting the service:
+--
+--   psql -h localhost -U transaction_user -d transaction_db -v ON_ERROR_STOP=1 \
+--        -f src/main/resources/db/schema.sql
+--
+-- Databases created by Hibernate (the former "update" setting) are brought to this schema with upgrade.sql. Keep
+-- both in step with the entities: a column or index added to an entity goes here and, as an idempotent statement,
+-- into upgrade.sql. To convert transactions to a table partitioned by month afterwards, see
+-- transactions-partitioned.sql.
+--
+-- transaction_id is not unique in the database: it is a UUID generated by the service for every transfer, and a
+-- partitioned table can only enforce uniqueness together with its partition key. It is indexed for lookups.
+
+begin;
+
+create sequence transactions_seq start with 1 increment by 50;
+create sequence transaction_outbox_seq start with 1 increment by 50;
+create sequence account_rollup_deltas_seq start with 1 increment by 50;
+
+create table transactions (
+    id bigint not null,
+    transaction_id varchar(255) not null,
+    source_account_id varchar(255) not null,
+    target_account_id varchar(255) not null,
+    amount numeric(19, 2) not null,
+    timestamp timestamp(6) not null,
+    status varchar(255) not null check (status in ('PENDING', 'COMPLETED', 'FAILED')),
+    description varchar(255),
+    idempotency_key varchar(255),
+    idempotency_owner varchar(255),
+    primary key (id),
+    constraint uk_transactions_idempotency_key unique (idempotency_owner, idempotency_key)
+);
+
+create index idx_transactions_transaction_id on transactions (transaction_id);
+create index idx_transactions_source_timestamp on transactions (source_account_id, timestamp desc, id desc);
+create index idx_transactions_target_timestamp on transactions (target_account_id, timestamp desc, id desc);
+
+create table transaction_outbox (
+    id bigint not null,
+    channel varchar(64) not null,
+    transaction_id varchar(255) not null,
+    payload text not null,
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    failed_at timestamp(6),
+    failure varchar(1000),
+    primary key (id)
+);
+
+create index idx_transaction_outbox_sent_at on transaction_outbox (sent_at, id);
+
+create table account_daily_rollups (
+    account_id varchar(255) not null,
+    rollup_date date not null,
+    status varchar(255) not null check (status in ('PENDING', 'COMPLETED', 'FAILED')),
+    direction varchar(8) not null check (direction in ('IN', 'OUT')),
+    transfer_count bigint not null,
+    total_amount numeric(19, 2) not null,
+    min_amount numeric(19, 2) not null,
+    max_amount numeric(19, 2) not null,
+    primary key (account_id, direction, rollup_date, status)
+);
+
+create table account_rollup_deltas (
+    id bigint not null,
+    account_id varchar(255) not null,
+    rollup_date date not null,
+    status varchar(255) not null check (status in ('PENDING', 'COMPLETED', 'FAILED')),
+    direction varchar(8) not null check (direction in ('IN', 'OUT')),
+    transfer_count bigint not null,
+    total_amount numeric(19, 2) not null,
+    min_amount numeric(19, 2) not null,
+    max_amount numeric(19, 2) not null,
+    primary key (id)
+);
+
+create index idx_account_rollup_deltas_account_date on account_rollup_deltas (account_id, rollup_date);
+
+commit;
@@ -0,0 +1,99 @@
+-- Converts the transactions table into a table range partitioned by month on "timestamp" (PostgreSQL 13+).
+--
+-- Run once, with the service stopped, before enabling transaction.partitioning.enabled:
+--
+--   psql -h localhost -U transaction_user -d transaction_db -v ON_ERROR_STOP=1 \
+--        -f src/main/resources/db/transactions-partitioned.sql
+--
+-- Existing rows are copied into monthly partitions covering their range plus the next three months; from then on
+-- TransactionPartitionManager keeps future partitions created and expired ones detached or dropped. The copy
+-- rewrites the whole table inside one transaction, so plan for the downtime and disk space of a full copy.
+--
+-- A unique constraint on a partitioned table has to include the partition key, so transaction_id and
+-- idempotency_key are only unique per timestamp in the partitions. transaction_id is a server-generated UUID and
+-- is not unique in the database either before the conversion (see schema.sql).
+-- Idempotency keys are kept unique per caller (idempotency_owner) across partitions by
+-- transaction_idempotency_keys, filled by a trigger, whose primary key rejects a second transfer with the same
+-- owner and key exactly as the former unique constraint did. Keys stored before owners were recorded have an
+-- empty owner there.
+
+begin;
+
+lock table transactions in access exclusive mode;
+
+alter table transactions rename to transactions_unpartitioned;
+alter index if exists idx_transactions_source_timestamp rename to idx_transactions_unpartitioned_source_timestamp;
+alter index if exists idx_transactions_target_timestamp rename to idx_transactions_unpartitioned_target_timestamp;
+
+create table transactions (
+    id bigint not null,
+    transaction_id varchar(255) not null,
+    source_account_id varchar(255) not null,
+    target_account_id varchar(255) not null,
+    amount numeric(19, 2) not null,
+    timestamp timestamp(6) not null,
+    status varchar(255) not null check (status in ('PENDING', 'COMPLETED', 'FAILED')),
+    description varchar(255),
+    idempotency_key varchar(255),
+    idempotency_owner varchar(255),
+    primary key (id, timestamp),
+    unique (transaction_id, timestamp)
+) partition by range (timestamp);
+
+-- Created on the parent, so every partition gets its own copy
+create index idx_transactions_source_timestamp on transactions (source_account_id, timestamp desc, id desc);
+create index idx_transactions_target_timestamp on transactions (target_account_id, timestamp desc, id desc);
+create index idx_transactions_idempotency_key on transactions (idempotency_owner, idempotency_key)
+    where idempotency_key is not null;
+
+do $$
+declare
+    month date := coalesce(date_trunc('month', (select min(timestamp) from transactions_unpartitioned)),
+                           date_trunc('month', localtimestamp))::date;
+    last_month date := (date_trunc('month', localtimestamp) + interval '3 months')::date;
+begin
+    while month <= last_month loop
+        execute format('create table %I partition of transactions for values from (%L) to (%L)',
+                       'transactions_' || to_char(month, 'YYYY_MM'), month, (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    end loop;
+end
+$$;
+
+create table transaction_idempotency_keys (
+    idempotency_owner varchar(255) not null,
+    idempotency_key varchar(255) not null,
+    transaction_timestamp timestamp(6) not null,
+    primary key (idempotency_owner, idempotency_key)
+);
+
+create index idx_transaction_idempotency_keys_timestamp on transaction_idempotency_keys (transaction_timestamp);
+
+insert into transaction_idempotency_keys (idempotency_owner, idempotency_key, transaction_timestamp)
+select coalesce(idempotency_owner, ''), idempotency_key, timestamp
+from transactions_unpartitioned where idempotency_key is not null;
+
+create function transactions_claim_idempotency_key() returns trigger language plpgsql as $$
+begin
+    insert into transaction_idempotency_keys (idempotency_owner, idempotency_key, transaction_timestamp)
+    values (coalesce(new.idempotency_owner, ''), new.idempotency_key, new.timestamp);
+    return new;
+end
+$$;
+
+insert into transactions
+select id, transaction_id, source_account_id, target_account_id, amount, timestamp, status, description,
+       idempotency_key, idempotency_owner
+from transactions_unpartitioned;
+
+-- After the copy, so existing keys are not claimed twice
+create trigger transactions_claim_idempotency_key
+    before insert on transactions
+    for each row when (new.idempotency_key is not null)
+    execute function transactions_claim_idempotency_key();
+
+drop table transactions_unpartitioned;
+
+commit;
+
+analyze transactions;
@@ -0,0 +1,114 @@
+-- Upgrades a database whose schema Hibernate created or updated (quarkus.hibernate-orm.database.generation=update,
+-- the former default) to the schema of schema.sql (PostgreSQL). Hibernate no longer changes the schema outside the
+-- dev and test profiles, so run this once, before starting this version of the service:
+--
+--   psql -h localhost -U transaction_user -d transaction_db -v ON_ERROR_STOP=1 \
+--        -f src/main/resources/db/upgrade.sql
+--
+-- Every statement checks what is already there, so it upgrades the first released schema (transactions only) as
+-- well as any later one Hibernate updated, and can be run again. A partitioned transactions table
+-- (transactions-partitioned.sql) is left partitioned.
+
+begin;
+
+-- Transactions: idempotency keys, unique per caller
+alter table transactions add column if not exists idempotency_key varchar(255);
+alter table transactions add column if not exists idempotency_owner varchar(255);
+
+-- Single-column unique constraints Hibernate created for transaction_id (every schema) and idempotency_key (before
+-- keys were scoped to the caller). transaction_id is a UUID generated by the service and only needs an index; a
+-- key unique across callers would reject a second caller reusing it.
+do $$
+declare
+    constraint_name name;
+begin
+    for constraint_name in
+        select c.conname
+        from pg_constraint c
+        join pg_attribute a on a.attrelid = c.conrelid and a.attnum = c.conkey[1]
+        where c.conrelid = 'transactions'::regclass and c.contype = 'u' and cardinality(c.conkey) = 1
+          and a.attname in ('transaction_id', 'idempotency_key')
+    loop
+        execute format('alter table transactions drop constraint %I', constraint_name);
+    end loop;
+
+    if not exists (select 1 from pg_constraint
+                   where conrelid = 'transactions'::regclass and conname = 'uk_transactions_idempotency_key')
+            and (select relkind from pg_class where oid = 'transactions'::regclass) = 'r' then
+        alter table transactions add constraint uk_transactions_idempotency_key
+            unique (idempotency_owner, idempotency_key);
+    end if;
+end
+$$;
+
+create index if not exists idx_transactions_transaction_id on transactions (transaction_id);
+create index if not exists idx_transactions_source_timestamp
+    on transactions (source_account_id, timestamp desc, id desc);
+create index if not exists idx_transactions_target_timestamp
+    on transactions (target_account_id, timestamp desc, id desc);
+
+-- Outbox of the transaction events
+create sequence if not exists transaction_outbox_seq start with 1 increment by 50;
+
+create table if not exists transaction_outbox (
+    id bigint not null,
+    channel varchar(64) not null,
+    transaction_id varchar(255) not null,
+    payload text not null,
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    failed_at timestamp(6),
+    failure varchar(1000),
+    primary key (id)
+);
+
+alter table transaction_outbox add column if not exists failed_at timestamp(6);
+alter table transaction_outbox add column if not exists failure varchar(1000);
+
+-- Payloads were once mapped with @Lob, stored as large objects; they are read back into text. The large objects
+-- themselves are left for vacuumlo.
+do $$
+begin
+    if (select data_type from information_schema.columns
+        where table_name = 'transaction_outbox' and column_name = 'payload') = 'oid' then
+        alter table transaction_outbox alter column payload type text
+            using convert_from(lo_get(payload), 'UTF8');
+    end if;
+end
+$$;
+
+create index if not exists idx_transaction_outbox_sent_at on transaction_outbox (sent_at, id);
+
+-- Account summaries
+create table if not exists account_daily_rollups (
+    account_id varchar(255) not null,
+    rollup_date date not null,
+    status varchar(255) not null check (status in ('PENDING', 'COMPLETED', 'FAILED')),
+    direction varchar(8) not null check (direction in ('IN', 'OUT')),
+    transfer_count bigint not null,
+    total_amount numeric(19, 2) not null,
+    min_amount numeric(19, 2) not null,
+    max_amount numeric(19, 2) not null,
+    primary key (account_id, direction, rollup_date, status)
+);
+
+create sequence if not exists account_rollup_deltas_seq start with 1 increment by 50;
+
+create table if not exists account_rollup_deltas (
+    id bigint not null,
+    account_id varchar(255) not null,
+    rollup_date date not null,
+    status varchar(255) not null check (status in ('PENDING', 'COMPLETED', 'FAILED')),
+    direction varchar(8) not null check (direction in ('IN', 'OUT')),
+    transfer_count bigint not null,
+    total_amount numeric(19, 2) not null,
+    min_amount numeric(19, 2) not null,
+    max_amount numeric(19, 2) not null,
+    primary key (id)
+);
+
+create index if not exists idx_account_rollup_deltas_account_date on account_rollup_deltas (account_id, rollup_date);
+
+commit;
+
+analyze transactions;
@@ -0,0 +1,132 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for keyset-paginated and streamed account history.
+ */
+@QuarkusTest
+public class AccountHistoryPaginationTest {
+
+    private static final String ACCOUNT = "HISTORY-1";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeAll
+    public static void seed() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            if (Transaction.count("sourceAccountId", ACCOUNT) > 0) {
+                return;
+            }
+            // Five rows, two of them sharing a timestamp to exercise the id tie-breaker
+            for (int i = 1; i <= 5; i++) {
+                Transaction transaction = new Transaction("history-" + i, ACCOUNT, "OTHER-" + i,
+                        new BigDecimal(i), "History " + i);
+                transaction.timestamp = BASE_TIME.plusMinutes(i == 5 ? 4 : i);
+                transaction.status = TransactionStatus.COMPLETED;
+                transaction.persist();
+            }
+        });
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testKeysetPagination() {
+        String next = given()
+            .when()
+            .get("/api/transactions/account/" + ACCOUNT + "?limit=2")
+            .then()
+            .statusCode(200)
+            .body("items.transactionId", contains("history-5", "history-4"))
+            .body("next", notNullValue())
+            .extract()
+            .path("next");
+
+        next = given()
+            .when()
+            .get("/api/transactions/account/" + ACCOUNT + "?limit=2&next=" + next)
+            .then()
+            .statusCode(200)
+            .body("items.transactionId", contains("history-3", "history-2"))
+            .extract()
+            .path("next");
+
+        given()
+            .when()
+            .get("/api/transactions/account/" + ACCOUNT + "?limit=2&next=" + next)
+            .then()
+            .statusCode(200)
+            .body("items.transactionId", contains("history-1"))
+            .body("next", nullValue());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testInvalidPageRequests() {
+        given()
+            .when()
+            .get("/api/transactions/account/" + ACCOUNT + "?next=not-a-token")
+            .then()
+            .statusCode(400)
+            .body("code", is("INVALID_TRANSACTION"));
+
+        given()
+            .when()
+            .get("/api/transactions/account/" + ACCOUNT + "?limit=0")
+            .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testSummaryAggregatedFromHistory() {
+        // Rollups are disabled in this profile, so the summary is computed from the transactions
+        given()
+            .when()
+            .get("/api/transactions/account/" + ACCOUNT + "/summary?from=2024-01-01&to=2024-12-31")
+            .then()
+            .statusCode(200)
+            .body("granularity", is("MONTH"))
+            .body("periods.start", contains("2024-01-01"))
+            .body("periods[0].status", is("COMPLETED"))
+            .body("periods[0].outflow.count", is(5))
+            .body("periods[0].outflow.total", is(15.0f))
+            .body("periods[0].outflow.min", is(1.0f))
+            .body("periods[0].outflow.max", is(5.0f))
+            .body("periods[0].inflow.count", is(0))
+            .body("totals[0].outflow.count", is(5));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testNdjsonStreaming() {
+        String body = given()
+            .accept("application/x-ndjson")
+            .when()
+            .get("/api/transactions/account/" + ACCOUNT)
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(5, lines.size());
+        assertEquals(true, lines.get(0).contains("\"transactionId\":\"history-5\""));
+        assertEquals(true, lines.get(4).contains("\"transactionId\":\"history-1\""));
+    }
+}
@@ -0,0 +1,201 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import javax.sql.DataSource;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stress tests for the per-account locks. The account-service stub answers balance checks from the transfers
+ * committed so far, after a short delay that leaves concurrent transfers room to interleave, and records how many
+ * checks overlap.
+ * <p>
+ * The stub is a ledger that applies every debit as soon as it commits. The real account-service applies a debit
+ * once it has consumed the transfer's outbox event, so these tests show that the locks serialize the checks, not
+ * that transfers can never overdraw an account in production.
+ */
+@QuarkusTest
+public class AccountLockStressTest {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100.00");
+    private static final long BALANCE_CHECK_DELAY_MS = 20;
+    // Long enough for unserialized transfers to reach the stub while the first check is still running
+    private static final long SLOW_BALANCE_CHECK_DELAY_MS = 200;
+    private static final int THREADS = 32;
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @Inject
+    DataSource dataSource;
+
+    private ExecutorService clients;
+    private volatile long balanceCheckDelayMs = BALANCE_CHECK_DELAY_MS;
+    private final AtomicInteger checksInFlight = new AtomicInteger();
+    private final AtomicInteger maxChecksInFlight = new AtomicInteger();
+    private final Map<String, AtomicInteger> checksInFlightByAccount = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> maxChecksInFlightByAccount = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenAnswer(invocation -> {
+                    String accountId = invocation.getArgument(0);
+                    AtomicInteger accountInFlight =
+                            checksInFlightByAccount.computeIfAbsent(accountId, id -> new AtomicInteger());
+                    maxChecksInFlight.accumulateAndGet(checksInFlight.incrementAndGet(), Math::max);
+                    maxChecksInFlightByAccount.computeIfAbsent(accountId, id -> new AtomicInteger())
+                            .accumulateAndGet(accountInFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(balanceCheckDelayMs);
+                        BigDecimal available = OPENING_BALANCE.subtract(committedDebits(accountId));
+                        BalanceValidationResponse validation = new BalanceValidationResponse();
+                        validation.hasBalance = available.compareTo(invocation.getArgument(1)) >= 0;
+                        return validation;
+                    } finally {
+                        accountInFlight.decrementAndGet();
+                        checksInFlight.decrementAndGet();
+                    }
+                });
+
+        clients = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void stopClients() {
+        clients.shutdownNow();
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testConcurrentTransfersDoNotOverdraw() throws Exception {
+        // Holds because the stub sees every committed debit; see the class comment
+        List<Integer> statuses = runConcurrently(THREADS, i -> () -> transfer("OVERDRAW-1", "TARGET-" + i));
+
+        assertEquals(10, statuses.stream().filter(status -> status == 201).count());
+        assertEquals(THREADS - 10, statuses.stream().filter(status -> status == 400).count());
+        assertEquals(0, OPENING_BALANCE.compareTo(committedDebits("OVERDRAW-1")));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testOppositeTransfersDoNotDeadlock() throws Exception {
+        List<Integer> statuses = runConcurrently(THREADS,
+                i -> () -> i % 2 == 0 ? transfer("PAIR-A", "PAIR-B") : transfer("PAIR-B", "PAIR-A"));
+
+        assertEquals(THREADS, statuses.size());
+        assertTrue(statuses.stream().allMatch(status -> status == 201 || status == 400));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testOneAccountIsSerialized() throws Exception {
+        balanceCheckDelayMs = SLOW_BALANCE_CHECK_DELAY_MS;
+
+        runConcurrently(8, i -> () -> transfer("SHARED-1", "TARGET-" + i));
+
+        assertEquals(1, maxChecksInFlightByAccount.get("SHARED-1").get());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testDistinctAccountsAreNotSerialized() throws Exception {
+        balanceCheckDelayMs = SLOW_BALANCE_CHECK_DELAY_MS;
+
+        runConcurrently(8, i -> () -> transfer("DISTINCT-" + i, "TARGET-" + i));
+
+        assertTrue(maxChecksInFlight.get() > 1, "Balance checks of distinct accounts did not overlap");
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testTransfersIntoOneAccountAreNotSerialized() throws Exception {
+        balanceCheckDelayMs = SLOW_BALANCE_CHECK_DELAY_MS;
+
+        List<Integer> statuses = runConcurrently(8, i -> () -> transfer("PAYER-" + i, "BILLER-1"));
+
+        assertTrue(statuses.stream().allMatch(status -> status == 201));
+        assertTrue(maxChecksInFlight.get() > 1, "Balance checks of transfers into one account did not overlap");
+    }
+
+    private List<Integer> runConcurrently(int count, IntFunction<Callable<Integer>> task) throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(clients.submit(task.apply(i)));
+        }
+        List<Integer> statuses = new ArrayList<>(count);
+        for (Future<Integer> future : futures) {
+            statuses.add(future.get(60, TimeUnit.SECONDS));
+        }
+        return statuses;
+    }
+
+    private int transfer(String sourceAccountId, String targetAccountId) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "%s",
+                    "targetAccountId": "%s",
+                    "amount": 10.00,
+                    "description": "Stress transfer"
+                }
+                """.formatted(sourceAccountId, targetAccountId))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .extract()
+            .statusCode();
+    }
+
+    private BigDecimal committedDebits(String accountId) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "select coalesce(sum(amount), 0) from transactions"
+                 + " where source_account_id = ? and status = 'COMPLETED'")) {
+            statement.setString(1, accountId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBigDecimal(1);
+            }
+        }
+    }
+}
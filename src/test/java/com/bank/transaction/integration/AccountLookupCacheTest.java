@@ -0,0 +1,149 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountLookup;
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the account lookup cache, which is disabled in the default test profile.
+ */
+@QuarkusTest
+@TestProfile(AccountLookupCacheTest.AccountCacheEnabledProfile.class)
+public class AccountLookupCacheTest {
+
+    public static class AccountCacheEnabledProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("transaction.account-cache.enabled", "true");
+        }
+    }
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @Inject
+    AccountLookup accountLookup;
+
+    @BeforeEach
+    public void setMocks() {
+        accountLookup.invalidateAll();
+
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return account;
+        });
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testTargetAccountsAreCachedButSourceAccountsAndBalanceAreNot() {
+        transfer();
+        transfer();
+
+        // The debited account is looked up with every caller's token
+        verify(accountServiceClientMock, times(2)).getAccount(eq("12345"), anyString());
+        verify(accountServiceClientMock, times(1)).getAccount(eq("67890"), anyString());
+        verify(accountServiceClientMock, times(2)).validateBalance(eq("12345"), any(BigDecimal.class), anyString());
+    }
+
+    @Test
+    public void testConcurrentLookupsAreCoalesced() {
+        List<CompletableFuture<Account>> lookups = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lookups.add(CompletableFuture.supplyAsync(() -> accountLookup.getAccount("BILLER-1", "Bearer xyz")));
+        }
+        lookups.forEach(CompletableFuture::join);
+
+        verify(accountServiceClientMock, times(1)).getAccount(eq("BILLER-1"), anyString());
+    }
+
+    @Test
+    public void testEntriesAreSharedBetweenCallers() {
+        accountLookup.getAccount("BILLER-3", "Bearer alice");
+        accountLookup.getAccount("BILLER-3", "Bearer bob");
+
+        verify(accountServiceClientMock, times(1)).getAccount(eq("BILLER-3"), anyString());
+    }
+
+    @Test
+    public void testDebitedAccountsAreFetchedForEveryCaller() {
+        accountLookup.getAccount("PAYER-1", "Bearer alice");
+        accountLookup.getDebitedAccount("PAYER-1", "Bearer alice");
+        accountLookup.getDebitedAccount("PAYER-1", "Bearer bob");
+
+        verify(accountServiceClientMock, times(2)).getAccount("PAYER-1", "Bearer alice");
+        verify(accountServiceClientMock, times(1)).getAccount("PAYER-1", "Bearer bob");
+    }
+
+    @Test
+    @TestSecurity(user = "admin", roles = {"ROLE_ADMIN"})
+    public void testExplicitInvalidation() {
+        accountLookup.getAccount("BILLER-2", "Bearer alice");
+        accountLookup.getAccount("BILLER-2", "Bearer bob");
+
+        given()
+            .when()
+            .delete("/api/transactions/cache/accounts/BILLER-2")
+            .then()
+            .statusCode(204);
+
+        accountLookup.getAccount("BILLER-2", "Bearer alice");
+        accountLookup.getAccount("BILLER-2", "Bearer bob");
+        verify(accountServiceClientMock, times(2)).getAccount(eq("BILLER-2"), anyString());
+    }
+
+    private void transfer() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "12345",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "Cached account transfer"
+                }
+                """)
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(201);
+    }
+}
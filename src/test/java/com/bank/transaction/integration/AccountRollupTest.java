@@ -0,0 +1,245 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.entity.AccountDailyRollup;
+import com.bank.transaction.entity.AccountRollupDelta;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.service.TransactionRollups;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the per-account daily rollups behind the account summary endpoint.
+ */
+@QuarkusTest
+@TestProfile(AccountRollupTest.RollupProfile.class)
+public class AccountRollupTest {
+
+    public static class RollupProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("transaction.rollups.enabled", "true");
+        }
+    }
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @Inject
+    TransactionRollups rollups;
+
+    @BeforeEach
+    public void setUp() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testTransfersUpdateRollups() {
+        String source = "ROLLUP-SOURCE-" + UUID.randomUUID();
+        String target = "ROLLUP-TARGET-" + UUID.randomUUID();
+        transfer(source, target, "10.00");
+        transfer(source, target, "20.00");
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                [
+                    {"sourceAccountId": "%1$s", "targetAccountId": "%2$s", "amount": 5.00},
+                    {"sourceAccountId": "%1$s", "targetAccountId": "%2$s", "amount": 7.50}
+                ]
+                """.formatted(source, target))
+            .when()
+            .post("/api/transactions/transfer/batch")
+            .then()
+            .statusCode(200);
+
+        LocalDate today = LocalDate.now();
+        // Transfers only insert deltas, one per transaction, account, day, status and direction
+        assertEquals(0, QuarkusTransaction.requiringNew().call(
+                () -> AccountDailyRollup.findByAccountId(source, today, today).size()));
+        assertEquals(3, QuarkusTransaction.requiringNew().call(
+                () -> AccountRollupDelta.findByAccountId(source, today, today).size()));
+        assertSummaries(source, target, today);
+
+        while (rollups.fold() > 0) {
+            // Folds every pending delta, including those of other tests
+        }
+
+        // One row per account, day, status and direction, however many transfers
+        assertEquals(1, QuarkusTransaction.requiringNew().call(
+                () -> AccountDailyRollup.findByAccountId(source, today, today).size()));
+        assertEquals(0, QuarkusTransaction.requiringNew().call(
+                () -> AccountRollupDelta.findByAccountId(source, today, today).size()));
+        assertSummaries(source, target, today);
+    }
+
+    private static void assertSummaries(String source, String target, LocalDate today) {
+        given()
+            .when()
+            .get("/api/transactions/account/" + source + "/summary?granularity=day&from=" + today + "&to=" + today)
+            .then()
+            .statusCode(200)
+            .body("periods.start", contains(today.toString()))
+            .body("periods[0].status", is("COMPLETED"))
+            .body("periods[0].outflow.count", is(4))
+            .body("periods[0].outflow.total", is(42.5f))
+            .body("periods[0].outflow.min", is(5.0f))
+            .body("periods[0].outflow.max", is(20.0f))
+            .body("periods[0].inflow.count", is(0));
+
+        given()
+            .when()
+            .get("/api/transactions/account/" + target + "/summary")
+            .then()
+            .statusCode(200)
+            .body("totals[0].inflow.count", is(4))
+            .body("totals[0].inflow.total", is(42.5f));
+    }
+
+    @Test
+    @TestSecurity(user = "admin", roles = {"ROLE_ADMIN"})
+    public void testRebuildFromTransactions() throws InterruptedException {
+        String account = "ROLLUP-REBUILD-" + UUID.randomUUID();
+        // Written directly, so only a rebuild adds them to the rollups
+        QuarkusTransaction.requiringNew().run(() -> {
+            persist(account, "OTHER", "100.00", LocalDateTime.of(2023, 1, 15, 9, 0), TransactionStatus.COMPLETED);
+            persist("OTHER", account, "40.00", LocalDateTime.of(2023, 1, 31, 23, 59), TransactionStatus.COMPLETED);
+            persist(account, "OTHER", "25.00", LocalDateTime.of(2023, 2, 1, 0, 0), TransactionStatus.COMPLETED);
+            persist(account, "OTHER", "60.00", LocalDateTime.of(2023, 2, 20, 12, 0), TransactionStatus.FAILED);
+        });
+        String summary = "/api/transactions/account/" + account + "/summary?from=2023-01-01&to=2023-12-31";
+        given().when().get(summary).then().statusCode(200).body("periods", empty());
+
+        // Rebuilding twice gives the same rollups
+        for (int i = 0; i < 2; i++) {
+            given()
+                .when()
+                .post("/api/transactions/rollups/rebuild?from=2023-01-01&to=2023-03-31")
+                .then()
+                .statusCode(202)
+                .body("from", is("2023-01-01"))
+                .body("to", is("2023-03-31"))
+                .body("chunks", is(13));
+
+            awaitRebuild()
+                .body("state", is("COMPLETED"))
+                .body("completedChunks", is(13))
+                .body("failedChunks", empty())
+                // Both accounts of the four days
+                .body("rows", is(8))
+                .body("finishedAt", notNullValue());
+
+            given()
+                .when()
+                .get(summary)
+                .then()
+                .statusCode(200)
+                .body("periods.start", contains("2023-01-01", "2023-02-01", "2023-02-01"))
+                .body("periods.status", contains("COMPLETED", "COMPLETED", "FAILED"))
+                .body("periods[0].outflow.total", is(100.0f))
+                .body("periods[0].inflow.total", is(40.0f))
+                .body("periods[1].outflow.count", is(1))
+                .body("periods[2].outflow.total", is(60.0f))
+                .body("totals.status", contains("COMPLETED", "FAILED"))
+                .body("totals[0].outflow.count", is(2))
+                .body("totals[0].outflow.total", is(125.0f))
+                .body("totals[0].outflow.min", is(25.0f))
+                .body("totals[0].outflow.max", is(100.0f));
+        }
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testRebuildRequiresAdmin() {
+        given()
+            .when()
+            .post("/api/transactions/rollups/rebuild")
+            .then()
+            .statusCode(403);
+        given().when().get("/api/transactions/rollups/rebuild").then().statusCode(403);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testInvalidSummaryRequests() {
+        String summary = "/api/transactions/account/ROLLUP-INVALID/summary";
+        given().when().get(summary + "?from=2024-02-01&to=2024-01-01").then().statusCode(400);
+        given().when().get(summary + "?granularity=week").then().statusCode(400);
+        given().when().get(summary + "?from=yesterday").then().statusCode(400)
+            .body("code", is("INVALID_TRANSACTION"));
+    }
+
+    private static ValidatableResponse awaitRebuild() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            ValidatableResponse status = given()
+                .when()
+                .get("/api/transactions/rollups/rebuild")
+                .then()
+                .statusCode(200);
+            if (!"RUNNING".equals(status.extract().path("state")) || System.nanoTime() > deadline) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private void transfer(String source, String target, String amount) {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {"sourceAccountId": "%s", "targetAccountId": "%s", "amount": %s}
+                """.formatted(source, target, amount))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(201);
+    }
+
+    private static void persist(String source, String target, String amount, LocalDateTime timestamp,
+                                TransactionStatus status) {
+        Transaction transaction = new Transaction(UUID.randomUUID().toString(), source, target,
+                new BigDecimal(amount), "Rollup rebuild");
+        transaction.timestamp = timestamp;
+        transaction.status = status;
+        transaction.persist();
+    }
+}
@@ -0,0 +1,118 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the local balance projection, which the default test profile does not enable. Every
+ * source account starts with a balance of 1000.00 and each test uses its own accounts, since the projection
+ * outlives a single test.
+ */
+@QuarkusTest
+@TestProfile(BalanceProjectionTest.BalanceProjectionProfile.class)
+public class BalanceProjectionTest {
+
+    public static class BalanceProjectionProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "transaction.balance-projection.enabled", "true",
+                "transaction.balance-projection.safety-margin", "100.00");
+        }
+    }
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        account.balance = new BigDecimal("1000.00");
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        Account closed = new Account();
+        closed.customerId = 456L;
+        closed.status = "CLOSED";
+        when(accountServiceClientMock.getAccount(eq("CLOSED-1"), anyString())).thenReturn(closed);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testSeededAccountSkipsRemoteBalanceCheck() {
+        transfer("PROJ-1", "67890", "100.00", 201);
+        transfer("PROJ-1", "67890", "100.00", 201);
+        transfer("PROJ-1", "67890", "100.00", 201);
+
+        // Only the first transfer, issued before the account was seeded, asks account-service
+        verify(accountServiceClientMock, times(1))
+                .validateBalance(eq("PROJ-1"), any(BigDecimal.class), anyString());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testTransferCloseToTheLimitIsCheckedRemotely() {
+        transfer("PROJ-2", "67890", "100.00", 201);
+        // 900.00 projected, 850.00 would leave less than the safety margin
+        transfer("PROJ-2", "67890", "850.00", 201);
+
+        verify(accountServiceClientMock, times(2))
+                .validateBalance(eq("PROJ-2"), any(BigDecimal.class), anyString());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testRejectedTransferReleasesItsReservation() {
+        transfer("PROJ-3", "67890", "100.00", 201);
+        transfer("PROJ-3", "CLOSED-1", "400.00", 400);
+        // Only fits within the 900.00 projected if the rejected transfer's 400.00 was released
+        transfer("PROJ-3", "67890", "750.00", 201);
+
+        verify(accountServiceClientMock, times(1))
+                .validateBalance(eq("PROJ-3"), any(BigDecimal.class), anyString());
+    }
+
+    private void transfer(String sourceAccountId, String targetAccountId, String amount, int expectedStatus) {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "%s",
+                    "targetAccountId": "%s",
+                    "amount": %s,
+                    "description": "Projected transfer"
+                }
+                """.formatted(sourceAccountId, targetAccountId, amount))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(expectedStatus);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import java.math.BigDecimal;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the batch transfer endpoint. Its throughput against single transfers is measured by
+ * {@code BatchTransferBenchmark} in the benchmark profile.
+ */
+@QuarkusTest
+public class BatchTransferThroughputTest {
+
+    private static final int TRANSFERS = 200;
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @BeforeEach
+    public void setMocks() {
+        Account activeAccount = new Account();
+        activeAccount.customerId = 123L;
+        activeAccount.status = "ACTIVE";
+        Account blockedAccount = new Account();
+        blockedAccount.customerId = 123L;
+        blockedAccount.status = "BLOCKED";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(activeAccount);
+        when(accountServiceClientMock.getAccount(eq("BLOCKED"), anyString())).thenReturn(blockedAccount);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testBatchTransfer_PerItemResults() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                [
+                    {"sourceAccountId": "PAYROLL", "targetAccountId": "EMPLOYEE-1", "amount": 10.00},
+                    {"sourceAccountId": "PAYROLL", "targetAccountId": "PAYROLL", "amount": 10.00},
+                    {"sourceAccountId": "PAYROLL", "targetAccountId": "BLOCKED", "amount": 10.00},
+                    {"sourceAccountId": "PAYROLL", "targetAccountId": "EMPLOYEE-2", "amount": -1.00}
+                ]
+                """)
+            .when()
+            .post("/api/transactions/transfer/batch")
+            .then()
+            .statusCode(200)
+            .body("total", is(4))
+            .body("completed", is(1))
+            .body("failed", is(3))
+            .body("results[0].status", is("COMPLETED"))
+            .body("results[0].transaction.transactionId", notNullValue())
+            .body("results[0].errorMessage", nullValue())
+            .body("results[1].status", is("FAILED"))
+            .body("results[1].errorMessage", is("Source and target accounts cannot be the same"))
+            .body("results[2].status", is("FAILED"))
+            .body("results[2].errorMessage", is("Account validation failed for: BLOCKED"))
+            .body("results[3].status", is("FAILED"))
+            .body("results[3].errorMessage", is("Amount must be greater than zero"));
+
+        // PAYROLL is looked up once and its balance is checked once for the whole batch
+        verify(accountServiceClientMock, times(1)).getAccount(eq("PAYROLL"), anyString());
+        verify(accountServiceClientMock, times(1)).validateBalance(eq("PAYROLL"), any(BigDecimal.class), anyString());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testLargeBatchCompletes() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < TRANSFERS; i++) {
+            body.append(i == 0 ? "" : ",").append(transfer(i));
+        }
+        body.append("]");
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(body.toString())
+            .when()
+            .post("/api/transactions/transfer/batch")
+            .then()
+            .statusCode(200)
+            .body("total", is(TRANSFERS))
+            .body("completed", is(TRANSFERS));
+
+        verify(accountServiceClientMock, times(1)).validateBalance(eq("PAYROLL"), any(BigDecimal.class), anyString());
+    }
+
+    private static String transfer(int i) {
+        return """
+            {"sourceAccountId": "PAYROLL", "targetAccountId": "EMPLOYEE-%d", "amount": 10.00}
+            """.formatted(i);
+    }
+}
@@ -0,0 +1,214 @@
+package com.bank.transaction.integration;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the real account-service client against a local stub that injects latency and errors, to check the client
+ * timeouts, circuit breaker and retry policies.
+ */
+@QuarkusTest
+@TestProfile(DownstreamFaultToleranceTest.StubbedDownstreamProfile.class)
+public class DownstreamFaultToleranceTest {
+
+    private static final String ACCOUNT_CLIENT = "com.bank.transaction.client.account.AccountServiceClient";
+
+    public static class StubbedDownstreamProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.rest-client.account-service.read-timeout", "300");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(new TestResourceEntry(AccountServiceStub.class));
+        }
+    }
+
+    /**
+     * Account-service stand-in whose behaviour depends on the account id: {@code FLAKY-*} fails its first lookup,
+     * {@code SLOW-*} answers after the read timeout, {@code DOWN-*} always fails and {@code DOWNBAL-*} fails its
+     * balance check. Every request is counted by method and path.
+     */
+    public static class AccountServiceStub implements QuarkusTestResourceLifecycleManager {
+
+        static final Map<String, AtomicInteger> REQUESTS = new ConcurrentHashMap<>();
+
+        private HttpServer server;
+
+        @Override
+        public Map<String, String> start() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/accounts/", AccountServiceStub::handle);
+            server.start();
+            return Map.of("quarkus.rest-client.account-service.url",
+                    "http://localhost:" + server.getAddress().getPort());
+        }
+
+        @Override
+        public void stop() {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+
+        private static void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            String accountId = path.substring("/api/accounts/".length()).split("/")[0];
+            int count = REQUESTS.computeIfAbsent(exchange.getRequestMethod() + " " + path, k -> new AtomicInteger())
+                    .incrementAndGet();
+
+            if (path.endsWith("/validate-balance")) {
+                if (accountId.startsWith("DOWNBAL-")) {
+                    respond(exchange, 503, "{}");
+                } else {
+                    respond(exchange, 200, "{\"hasBalance\": true}");
+                }
+                return;
+            }
+
+            if (accountId.startsWith("SLOW-")) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (accountId.startsWith("DOWN-") || (accountId.startsWith("FLAKY-") && count == 1)) {
+                respond(exchange, 500, "{}");
+                return;
+            }
+            respond(exchange, 200, """
+                {"accountId": "%s", "customerId": 123, "status": "ACTIVE"}
+                """.formatted(accountId));
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Inject
+    CircuitBreakerMaintenance circuitBreakers;
+
+    @BeforeEach
+    public void resetCircuitBreakers() {
+        circuitBreakers.resetAll();
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testAccountLookupIsRetriedAfterServerError() {
+        transfer("FLAKY-1", 201)
+            .body("status", is("COMPLETED"));
+
+        assertEquals(2, requests("GET /api/accounts/FLAKY-1"));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testBalanceValidationIsNotRetried() {
+        transfer("DOWNBAL-1", 503)
+            .body("code", is("DOWNSTREAM_UNAVAILABLE"))
+            .body("message", containsString("Balance validation failed for account: DOWNBAL-1"));
+
+        assertEquals(1, requests("POST /api/accounts/DOWNBAL-1/validate-balance"));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testSlowAccountServiceTimesOut() {
+        long start = System.nanoTime();
+        transfer("SLOW-1", 503)
+            .body("code", is("DOWNSTREAM_UNAVAILABLE"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 4000, "transfer took " + elapsedMillis + "ms despite the read timeout");
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testOpenCircuitFailsFast() {
+        // Every transfer fails three source lookups, retries included, and succeeds one target lookup, so seven
+        // transfers fill the breaker's window of 20 calls past its failure ratio
+        transfer("DOWN-1", 503);
+        // The lookup and its two retries from quarkus.fault-tolerance.global.retry
+        assertEquals(3, requests("GET /api/accounts/DOWN-1"));
+        for (int i = 1; i < 7; i++) {
+            transfer("DOWN-1", 503);
+        }
+        int attempts = requests("GET /api/accounts/DOWN-1");
+
+        for (int i = 0; i < 3; i++) {
+            transfer("DOWN-1", 503)
+                .body("code", is("DOWNSTREAM_UNAVAILABLE"));
+        }
+        assertEquals(attempts, requests("GET /api/accounts/DOWN-1"));
+
+        given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(containsString("ft_circuitbreaker_opened_total{method=\"" + ACCOUNT_CLIENT))
+            .body(containsString("ft_retry_retries_total{method=\"" + ACCOUNT_CLIENT));
+    }
+
+    private static int requests(String key) {
+        AtomicInteger count = AccountServiceStub.REQUESTS.get(key);
+        return count == null ? 0 : count.get();
+    }
+
+    private ValidatableResponse transfer(String sourceAccountId, int expectedStatus) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "%s",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "Fault tolerance transfer"
+                }
+                """.formatted(sourceAccountId))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(expectedStatus);
+    }
+}
@@ -0,0 +1,178 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.entity.OutboxEvent;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.service.GroupCommitWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for group commit, which the default test profile does not enable.
+ */
+@QuarkusTest
+@TestProfile(GroupCommitTest.GroupCommitProfile.class)
+public class GroupCommitTest {
+
+    private static final int THREADS = 16;
+
+    public static class GroupCommitProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "transaction.group-commit.enabled", "true",
+                "transaction.group-commit.max-batch-size", "16",
+                "transaction.group-commit.max-wait", "100ms");
+        }
+    }
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @Inject
+    GroupCommitWriter groupCommitWriter;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private ExecutorService clients;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+
+        clients = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void stopClients() {
+        clients.shutdownNow();
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testConcurrentTransfersShareCommits() throws Exception {
+        DistributionSummary batchSizes = meterRegistry.get("transactions.group-commit.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // Distinct accounts, so the per-account locks let the transfers reach the writer together
+            String sourceAccountId = "GROUP-" + i;
+            String targetAccountId = "GROUP-TARGET-" + i;
+            futures.add(clients.submit(() -> given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {
+                        "sourceAccountId": "%s",
+                        "targetAccountId": "%s",
+                        "amount": 10.00,
+                        "description": "Grouped transfer"
+                    }
+                    """.formatted(sourceAccountId, targetAccountId))
+                .when()
+                .post("/api/transactions/transfer")
+                .then()
+                .statusCode(201)
+                .extract()
+                .<String>path("transactionId")));
+        }
+
+        for (Future<String> future : futures) {
+            String transactionId = future.get(60, TimeUnit.SECONDS);
+            // Committed before the response was sent
+            Transaction transaction = Transaction.findByTransactionId(transactionId);
+            assertEquals(TransactionStatus.COMPLETED, transaction.status);
+            assertEquals(1, OutboxEvent.count("transactionId", transactionId));
+        }
+
+        long batches = batchSizes.count() - batchesBefore;
+        assertTrue(batches < THREADS, THREADS + " transfers were written in " + batches + " commits");
+    }
+
+    @Test
+    public void testFailingTransferDoesNotFailItsBatch() throws Exception {
+        String duplicateKey = UUID.randomUUID().toString();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            transactions.add(i < 2 ? withIdempotencyKey(duplicateKey) : completed(UUID.randomUUID().toString()));
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            futures.add(clients.submit(() -> groupCommitWriter.write(transaction)));
+        }
+
+        int failures = 0;
+        for (Future<?> future : futures) {
+            try {
+                future.get(60, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+
+        // One of the two rows sharing an idempotency key violates the unique constraint, the others are committed
+        assertEquals(1, failures);
+        for (Transaction transaction : transactions.subList(2, transactions.size())) {
+            assertNotNull(Transaction.findByTransactionId(transaction.transactionId));
+        }
+        assertNotNull(Transaction.findByIdempotencyKey("user", duplicateKey));
+        assertThrows(Exception.class, () -> groupCommitWriter.write(withIdempotencyKey(duplicateKey)));
+    }
+
+    private static Transaction withIdempotencyKey(String idempotencyKey) {
+        Transaction transaction = completed(UUID.randomUUID().toString());
+        transaction.idempotencyKey = idempotencyKey;
+        transaction.idempotencyOwner = "user";
+        return transaction;
+    }
+
+    private static Transaction completed(String transactionId) {
+        Transaction transaction = new Transaction(transactionId, "ISOLATION-1", "67890",
+                new BigDecimal("10.00"), "Grouped transfer");
+        transaction.status = TransactionStatus.COMPLETED;
+        return transaction;
+    }
+}
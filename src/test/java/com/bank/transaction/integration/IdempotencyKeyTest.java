@@ -0,0 +1,142 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for Idempotency-Key handling on the transfer endpoint.
+ */
+@QuarkusTest
+public class IdempotencyKeyTest {
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return account;
+        });
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testRetryIsReplayedWithoutDownstreamCalls() {
+        ExtractableResponse<Response> first = transfer("retry-key-1", "10.00", 201);
+        ExtractableResponse<Response> retry = transfer("retry-key-1", "10.00", 201);
+
+        assertNull(first.header("Idempotent-Replayed"));
+        assertEquals("true", retry.header("Idempotent-Replayed"));
+        assertEquals(first.path("transactionId").toString(), retry.path("transactionId").toString());
+        verify(accountServiceClientMock, times(1)).getAccount(eq("12345"), anyString());
+        verify(accountServiceClientMock, times(1)).validateBalance(eq("12345"), any(BigDecimal.class), anyString());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testConcurrentDuplicatesCreateOneTransaction() {
+        List<CompletableFuture<String>> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(CompletableFuture.supplyAsync(
+                    () -> transfer("concurrent-key-1", "10.00", 201).path("transactionId")));
+        }
+
+        Set<String> transactionIds = new HashSet<>();
+        requests.forEach(request -> transactionIds.add(request.join()));
+
+        assertEquals(1, transactionIds.size());
+        assertEquals(1, Transaction.count("idempotencyKey", "concurrent-key-1"));
+        verify(accountServiceClientMock, times(1)).getAccount(eq("12345"), anyString());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testKeyReusedForDifferentTransferIsRejected() {
+        transfer("reused-key-1", "10.00", 201);
+        transfer("reused-key-1", "20.00", 400);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testKeysAreScopedToTheCaller() {
+        // Another caller's transfer under the same key
+        QuarkusTransaction.requiringNew().run(() -> {
+            Transaction other = new Transaction(UUID.randomUUID().toString(), "12345", "67890",
+                    new BigDecimal("99.00"), "Other caller's transfer");
+            other.status = TransactionStatus.COMPLETED;
+            other.idempotencyKey = "shared-key-1";
+            other.idempotencyOwner = "other-user";
+            other.persist();
+        });
+
+        ExtractableResponse<Response> first = transfer("shared-key-1", "10.00", 201);
+        assertNull(first.header("Idempotent-Replayed"));
+        assertEquals("true", transfer("shared-key-1", "10.00", 201).header("Idempotent-Replayed"));
+        assertEquals("user", QuarkusTransaction.requiringNew().call(
+                () -> Transaction.findByTransactionId(first.path("transactionId")).idempotencyOwner));
+    }
+
+    private ExtractableResponse<Response> transfer(String idempotencyKey, String amount, int expectedStatus) {
+        return given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", idempotencyKey)
+            .body("""
+                {
+                    "sourceAccountId": "12345",
+                    "targetAccountId": "67890",
+                    "amount": %s,
+                    "description": "Idempotent transfer"
+                }
+                """.formatted(amount))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(expectedStatus)
+            .extract();
+    }
+}
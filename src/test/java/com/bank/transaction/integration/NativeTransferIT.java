@@ -0,0 +1,173 @@
+package com.bank.transaction.integration;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.common.WithTestResource;
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.restassured.http.ContentType;
+import io.smallrye.jwt.build.Jwt;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Runs against the packaged application, the native executable with {@code -Dnative}, so a transfer goes through
+ * the same reflection, serialization and persistence paths as in production. Account-service and customer-service
+ * are stubbed in-process and tokens are signed with a key pair generated for the run; PostgreSQL, with
+ * db/schema.sql applied, and Kafka have to be reachable as configured (QUARKUS_DATASOURCE_JDBC_URL,
+ * KAFKA_BOOTSTRAP_SERVERS).
+ */
+@QuarkusIntegrationTest
+@WithTestResource(NativeTransferIT.Downstream.class)
+public class NativeTransferIT {
+
+    public static class Downstream implements QuarkusTestResourceLifecycleManager {
+
+        static String token;
+        private HttpServer stub;
+
+        @Override
+        public Map<String, String> start() {
+            try {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                KeyPair keys = generator.generateKeyPair();
+                Path publicKey = Files.createTempFile("native-transfer-it-", ".pem");
+                Files.writeString(publicKey, "-----BEGIN PUBLIC KEY-----\n"
+                        + Base64.getMimeEncoder(64, new byte[] {'\n'}).encodeToString(keys.getPublic().getEncoded())
+                        + "\n-----END PUBLIC KEY-----\n");
+                token = Jwt.issuer("https://banking.local")
+                        .upn("native-it")
+                        .groups(Set.of("ROLE_USER"))
+                        .sign(keys.getPrivate());
+
+                stub = startStub();
+                String stubUrl = "http://localhost:" + stub.getAddress().getPort();
+                return Map.of(
+                        "quarkus.rest-client.account-service.url", stubUrl,
+                        "quarkus.rest-client.customer-service.url", stubUrl,
+                        "mp.jwt.verify.publickey.location", "file:" + publicKey.toAbsolutePath());
+            } catch (IOException | NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Could not start the downstream stub", e);
+            }
+        }
+
+        @Override
+        public void stop() {
+            if (stub != null) {
+                stub.stop(0);
+            }
+        }
+
+        private static HttpServer startStub() throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/accounts/", exchange -> {
+                String path = exchange.getRequestURI().getPath();
+                String accountId = path.substring("/api/accounts/".length()).split("/")[0];
+                if (path.endsWith("/validate-balance")) {
+                    respond(exchange, "{\"hasBalance\":true}");
+                } else {
+                    respond(exchange, "{\"accountId\":\"" + accountId + "\",\"customerId\":1,"
+                            + "\"balance\":1000.00,\"type\":\"CHECKING\",\"status\":\"ACTIVE\"}");
+                }
+            });
+            server.createContext("/api/customers/", exchange -> {
+                if (exchange.getRequestURI().getPath().endsWith("/validate")) {
+                    respond(exchange, "{\"valid\":true,\"customerId\":1}");
+                } else {
+                    respond(exchange, "{\"id\":1,\"name\":\"Native IT\",\"status\":\"ACTIVE\"}");
+                }
+            });
+            server.start();
+            return server;
+        }
+
+        private static void respond(HttpExchange exchange, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        }
+    }
+
+    @Test
+    public void testTransferRoundTrip() {
+        String transactionId = given()
+            .auth().oauth2(Downstream.token)
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "NATIVE-SOURCE",
+                    "targetAccountId": "NATIVE-TARGET",
+                    "amount": 12.50,
+                    "description": "Native transfer"
+                }
+                """)
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(201)
+            .body("transactionId", notNullValue())
+            .body("status", is("COMPLETED"))
+            .extract()
+            .path("transactionId");
+
+        given()
+            .auth().oauth2(Downstream.token)
+            .when()
+            .get("/api/transactions/" + transactionId)
+            .then()
+            .statusCode(200)
+            .body("sourceAccountId", is("NATIVE-SOURCE"))
+            .body("amount", is(12.5f))
+            .body("description", is("Native transfer"));
+    }
+
+    @Test
+    public void testInvalidTransferIsRejected() {
+        given()
+            .auth().oauth2(Downstream.token)
+            .contentType(ContentType.JSON)
+            .body("""
+                {"sourceAccountId": "NATIVE-SAME", "targetAccountId": "NATIVE-SAME", "amount": 1.00}
+                """)
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(400)
+            .body("code", is("INVALID_TRANSACTION"));
+    }
+
+    @Test
+    public void testTransferRequiresToken() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {"sourceAccountId": "NATIVE-SOURCE", "targetAccountId": "NATIVE-TARGET", "amount": 1.00}
+                """)
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(401);
+    }
+
+    @Test
+    public void testHealth() {
+        given().when().get("/q/health/live").then().statusCode(200).body("status", is("UP"));
+    }
+}
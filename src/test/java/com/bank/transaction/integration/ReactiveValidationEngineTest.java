@@ -0,0 +1,110 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.ReactiveAccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.smallrye.mutiny.Uni;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the reactive validation engine, which the default test profile does not select.
+ */
+@QuarkusTest
+@TestProfile(ReactiveValidationEngineTest.ReactiveValidationProfile.class)
+public class ReactiveValidationEngineTest {
+
+    public static class ReactiveValidationProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("transaction.engine", "reactive-validation");
+        }
+    }
+
+    @InjectMock
+    @RestClient
+    ReactiveAccountServiceClient reactiveAccountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(reactiveAccountServiceClientMock.getAccount(anyString(), anyString()))
+                .thenReturn(Uni.createFrom().item(account));
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(reactiveAccountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(Uni.createFrom().item(balance));
+
+        BalanceValidationResponse noBalance = new BalanceValidationResponse();
+        noBalance.hasBalance = false;
+        when(reactiveAccountServiceClientMock.validateBalance(eq("BROKE-1"), any(BigDecimal.class), anyString()))
+                .thenReturn(Uni.createFrom().item(noBalance));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testTransferThroughReactiveClients() {
+        String transactionId = transfer("12345", 201)
+            .body("status", is("COMPLETED"))
+            .extract()
+            .path("transactionId");
+
+        Transaction transaction = Transaction.findByTransactionId(transactionId);
+        assertEquals(TransactionStatus.COMPLETED, transaction.status);
+        verifyNoInteractions(accountServiceClientMock);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testRejectionMatchesBlockingEngine() {
+        transfer("BROKE-1", 400)
+            .body(containsString("Balance validation failed for account: BROKE-1"));
+    }
+
+    private ValidatableResponse transfer(String sourceAccountId, int expectedStatus) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "%s",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "Reactive transfer"
+                }
+                """.formatted(sourceAccountId))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(expectedStatus);
+    }
+}
@@ -0,0 +1,277 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.service.ReadReplicaRouter;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for read-replica routing. The replica is a second in-memory database whose rows and reported
+ * lag are set by the tests, so where a read was served from is visible in its result.
+ */
+@QuarkusTest
+@TestProfile(ReadReplicaRoutingTest.ReadReplicaProfile.class)
+public class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_ACCOUNT = "REPLICA-1";
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    public static class ReadReplicaProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "transaction.read-replica.enabled", "true",
+                "transaction.read-replica.max-lag", "PT10S",
+                "transaction.read-replica.lag-query", "select lag_seconds from replica_status");
+        }
+    }
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    @Inject
+    ReadReplicaRouter router;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                create table if not exists transactions (
+                    id bigint primary key,
+                    transaction_id varchar(255) not null,
+                    source_account_id varchar(255) not null,
+                    target_account_id varchar(255) not null,
+                    amount numeric(19, 2) not null,
+                    timestamp timestamp(6) not null,
+                    status varchar(255) not null,
+                    description varchar(255),
+                    idempotency_key varchar(255),
+                    idempotency_owner varchar(255)
+                )""");
+            statement.execute("create table if not exists replica_status (lag_seconds double precision)");
+            statement.execute("delete from transactions");
+            statement.execute("delete from replica_status");
+            statement.execute("insert into replica_status values (0)");
+        }
+        // Three rows only the replica has, two of them sharing a timestamp
+        for (int i = 1; i <= 3; i++) {
+            insertIntoReplica(1000 + i, "replica-" + i, REPLICA_ACCOUNT, BASE_TIME.plusMinutes(i == 3 ? 2 : i));
+        }
+        router.checkLag();
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testHistoryIsReadFromReplica() {
+        double before = reads("replica", "replica");
+
+        given()
+            .when()
+            .get("/api/transactions/account/" + REPLICA_ACCOUNT)
+            .then()
+            .statusCode(200)
+            .body("transactionId", contains("replica-3", "replica-2", "replica-1"));
+
+        String next = given()
+            .when()
+            .get("/api/transactions/account/" + REPLICA_ACCOUNT + "?limit=2")
+            .then()
+            .statusCode(200)
+            .body("items.transactionId", contains("replica-3", "replica-2"))
+            .body("next", notNullValue())
+            .extract()
+            .path("next");
+
+        given()
+            .when()
+            .get("/api/transactions/account/" + REPLICA_ACCOUNT + "?limit=2&next=" + next)
+            .then()
+            .statusCode(200)
+            .body("items.transactionId", contains("replica-1"))
+            .body("next", nullValue());
+
+        List<String> lines = given()
+            .accept("application/x-ndjson")
+            .when()
+            .get("/api/transactions/account/" + REPLICA_ACCOUNT)
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString()
+            .lines()
+            .toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"transactionId\":\"replica-3\""));
+
+        given()
+            .when()
+            .get("/api/transactions/replica-1")
+            .then()
+            .statusCode(200)
+            .body("description", is("Replicated"));
+
+        assertEquals(before + 5, reads("replica", "replica"));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testOwnTransferIsReadFromPrimaryUntilReplicated() {
+        String source = "RYW-" + UUID.randomUUID();
+        double recentWrites = reads("primary", "recent-write");
+
+        String transactionId = given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "%s",
+                    "targetAccountId": "RYW-TARGET",
+                    "amount": 10.00,
+                    "description": "Read your writes"
+                }
+                """.formatted(source))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("transactionId");
+
+        // The replica does not have the transfer, the primary does
+        given()
+            .when()
+            .get("/api/transactions/account/" + source)
+            .then()
+            .statusCode(200)
+            .body("transactionId", contains(transactionId));
+        assertEquals(recentWrites + 1, reads("primary", "recent-write"));
+
+        // Once the replica reports having caught up, the account is read from it again
+        router.checkLag();
+        given()
+            .when()
+            .get("/api/transactions/account/" + source)
+            .then()
+            .statusCode(200)
+            .body("$", empty());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testLaggingReplicaIsBypassed() throws SQLException {
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("update replica_status set lag_seconds = 60");
+        }
+        router.checkLag();
+        double lagged = reads("primary", "lag");
+
+        // Only the replica has these rows, so nothing comes back from the primary
+        given()
+            .when()
+            .get("/api/transactions/account/" + REPLICA_ACCOUNT)
+            .then()
+            .statusCode(200)
+            .body("$", empty());
+
+        assertEquals(lagged + 1, reads("primary", "lag"));
+        assertEquals(60.0, meterRegistry.get("transactions.read-replica.lag").timeGauge()
+                .value(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testTransactionMissingOnReplicaIsReadFromPrimary() {
+        String transactionId = "primary-only-" + UUID.randomUUID();
+        QuarkusTransaction.requiringNew().run(() -> {
+            Transaction transaction = new Transaction(transactionId, "PRIMARY-1", "PRIMARY-2",
+                    new BigDecimal("5.00"), "Primary only");
+            transaction.status = TransactionStatus.COMPLETED;
+            transaction.persist();
+        });
+        double notFound = reads("primary", "not-found");
+
+        given()
+            .when()
+            .get("/api/transactions/" + transactionId)
+            .then()
+            .statusCode(200)
+            .body("transactionId", is(transactionId))
+            .body("description", is("Primary only"));
+
+        assertEquals(notFound + 1, reads("primary", "not-found"));
+    }
+
+    private void insertIntoReplica(long id, String transactionId, String accountId, LocalDateTime timestamp)
+            throws SQLException {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "insert into transactions values (?, ?, ?, ?, 10.00, ?, 'COMPLETED', 'Replicated', null, null)")) {
+            statement.setLong(1, id);
+            statement.setString(2, transactionId);
+            statement.setString(3, accountId);
+            statement.setString(4, "REPLICA-OTHER");
+            statement.setObject(5, timestamp);
+            statement.executeUpdate();
+        }
+    }
+
+    private double reads(String datasource, String reason) {
+        return meterRegistry.get("transactions.reads").tag("datasource", datasource).tag("reason", reason)
+                .counter().count();
+    }
+}
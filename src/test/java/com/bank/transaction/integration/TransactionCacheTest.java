@@ -0,0 +1,117 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the transaction read-through cache.
+ */
+@QuarkusTest
+public class TransactionCacheTest {
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testCompletedTransactionIsServedFromCache() {
+        String transactionId = given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "12345",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "Cached transfer"
+                }
+                """)
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("transactionId");
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 3; i++) {
+            given()
+                .when()
+                .get("/api/transactions/" + transactionId)
+                .then()
+                .statusCode(200)
+                .body("transactionId", is(transactionId))
+                .body("status", is("COMPLETED"));
+        }
+
+        // Populated on write, so not even the first read reaches the database
+        assertEquals(0, statistics.getQueryExecutionCount());
+
+        given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(containsString("cache_gets_total{cache=\"transactions\""));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testMissingTransactionIsNotCached() {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 2; i++) {
+            given()
+                .when()
+                .get("/api/transactions/NOT-CACHED")
+                .then()
+                .statusCode(404);
+        }
+
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+}
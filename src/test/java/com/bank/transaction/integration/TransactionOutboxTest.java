@@ -0,0 +1,182 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import com.bank.transaction.dto.TransactionEvent;
+import com.bank.transaction.entity.OutboxEvent;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.producer.OutboxRelay;
+import com.bank.transaction.producer.TransactionEventProducer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.mockito.InjectSpy;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import io.smallrye.reactive.messaging.memory.InMemorySink;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.List;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.eclipse.microprofile.reactive.messaging.spi.Connector;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the transactional outbox and its relay, on the in-memory connector.
+ */
+@QuarkusTest
+public class TransactionOutboxTest {
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @InjectSpy
+    TransactionEventProducer eventProducerSpy;
+
+    @Inject
+    @Connector("smallrye-in-memory")
+    InMemoryConnector connector;
+
+    @Inject
+    OutboxRelay outboxRelay;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+
+        // Start every test from an empty outbox and empty sinks
+        while (outboxRelay.drain() > 0) {
+        }
+        connector.sink(TransactionEventProducer.COMPLETED_CHANNEL).clear();
+        connector.sink(TransactionEventProducer.FAILED_CHANNEL).clear();
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testCompletedEventIsRelayedAfterCommit() {
+        String transactionId = transfer("Outbox transfer", 201);
+
+        InMemorySink<TransactionEvent> completed = connector.sink(TransactionEventProducer.COMPLETED_CHANNEL);
+        assertTrue(completed.received().isEmpty(), "Nothing is sent on the request path");
+        OutboxEvent pending = OutboxEvent.find("transactionId", transactionId).firstResult();
+        assertNotNull(pending);
+        assertNull(pending.sentAt);
+
+        assertEquals(1, outboxRelay.drain());
+
+        List<? extends Message<TransactionEvent>> received = completed.received();
+        assertEquals(1, received.size());
+        assertEquals(transactionId, received.get(0).getPayload().transactionId);
+        assertEquals(TransactionStatus.COMPLETED, received.get(0).getPayload().status);
+        assertEquals(0, OutboxEvent.count("transactionId = ?1 and sentAt is null", transactionId));
+        assertEquals(0, outboxRelay.drain());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testFailedEventSurvivesRollback() {
+        doThrow(new IllegalStateException("Outbox unavailable"))
+                .when(eventProducerSpy).publishTransactionCompleted(any(Transaction.class));
+
+        transfer("Failed outbox transfer", 400);
+        assertEquals(1, outboxRelay.drain());
+
+        InMemorySink<TransactionEvent> failed = connector.sink(TransactionEventProducer.FAILED_CHANNEL);
+        assertEquals(1, failed.received().size());
+        TransactionEvent event = failed.received().get(0).getPayload();
+        assertEquals(TransactionStatus.FAILED, event.status);
+        assertEquals("Outbox unavailable", event.errorMessage);
+        assertTrue(connector.sink(TransactionEventProducer.COMPLETED_CHANNEL).received().isEmpty());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testUnreadableEventIsDeadLettered() {
+        long unreadableId = QuarkusTransaction.requiringNew().call(() -> {
+            OutboxEvent unreadable = new OutboxEvent(TransactionEventProducer.COMPLETED_CHANNEL, "UNREADABLE", "{");
+            unreadable.persist();
+            return unreadable.id;
+        });
+        String transactionId = transfer("Outbox transfer after an unreadable event", 201);
+
+        // The rest of the batch is still sent
+        assertEquals(1, outboxRelay.drain());
+        InMemorySink<TransactionEvent> completed = connector.sink(TransactionEventProducer.COMPLETED_CHANNEL);
+        List<? extends Message<TransactionEvent>> received = completed.received();
+        assertEquals(1, received.size());
+        assertEquals(transactionId, received.get(0).getPayload().transactionId);
+
+        OutboxEvent unreadable = QuarkusTransaction.requiringNew().call(() -> OutboxEvent.findById(unreadableId));
+        assertNotNull(unreadable.failedAt);
+        assertNull(unreadable.sentAt);
+        assertNotNull(unreadable.failure);
+        assertEquals(0, outboxRelay.drain());
+        assertEquals(0, OutboxEvent.countUnsent());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testRelayMetricsAreExported() {
+        transfer("Metered outbox transfer", 201);
+        assertEquals(1, outboxRelay.drain());
+
+        given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(containsString("transactions_events_send_latency_seconds_count{channel=\"transactions-completed\"}"))
+            .body(containsString("transactions_events_in_flight"))
+            .body(containsString("transactions_events_pending 0.0"))
+            .body(containsString("transactions_events_nacked_total{channel=\"transactions-completed\"} 0.0"));
+    }
+
+    private String transfer(String description, int expectedStatus) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "12345",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "%s"
+                }
+                """.formatted(description))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(expectedStatus)
+            .extract()
+            .path("transactionId");
+    }
+}
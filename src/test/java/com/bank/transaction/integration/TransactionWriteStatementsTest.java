@@ -0,0 +1,111 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import com.bank.transaction.entity.Transaction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.producer.TransactionEventProducer;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL statements issued per transfer through Hibernate statistics.
+ */
+@QuarkusTest
+public class TransactionWriteStatementsTest {
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @InjectMock
+    TransactionEventProducer eventProducerMock;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testSuccessfulTransferIsSingleInsert() {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        transfer("Single insert transfer", 201);
+
+        // The event producer is mocked, so only the transaction row is counted, not its outbox event
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getTransactionCount());
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testFailedTransferIsRecordedInOwnTransaction() {
+        doThrow(new IllegalStateException("Broker unavailable"))
+                .when(eventProducerMock).publishTransactionCompleted(any(Transaction.class));
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        transfer("Failed transfer", 400);
+
+        // The transfer transaction rolls back, the failure row is one insert in its own transaction
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        Transaction failed = Transaction.find("description", "Failed transfer").firstResult();
+        assertNotNull(failed);
+        assertEquals(TransactionStatus.FAILED, failed.status);
+    }
+
+    private void transfer(String description, int expectedStatus) {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "12345",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "%s"
+                }
+                """.formatted(description))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(expectedStatus);
+    }
+}
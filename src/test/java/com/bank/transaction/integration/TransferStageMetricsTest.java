@@ -0,0 +1,89 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import java.math.BigDecimal;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the per-stage transfer timers and the downstream client timers.
+ */
+@QuarkusTest
+public class TransferStageMetricsTest {
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenReturn(account);
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+        when(accountServiceClientMock.validateBalance(eq("BROKE-1"), any(BigDecimal.class), anyString()))
+                .thenThrow(new IllegalStateException("Account service unavailable"));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testStagesAreTimedByOutcome() {
+        transfer("12345", 201);
+        transfer("BROKE-1", 400);
+
+        given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(containsString("transactions_transfer_stage_seconds_count{exception=\"none\",outcome=\"success\",stage=\"validate_account\"}"))
+            .body(containsString("transactions_transfer_stage_seconds_count{exception=\"none\",outcome=\"success\",stage=\"persist\"}"))
+            .body(containsString("transactions_transfer_stage_seconds_count{exception=\"none\",outcome=\"success\",stage=\"publish\"}"))
+            .body(containsString("transactions_transfer_stage_seconds_count{exception=\"none\",outcome=\"success\",stage=\"commit\"}"))
+            .body(containsString("transactions_transfer_stage_seconds_count{exception=\"InvalidTransactionException\",outcome=\"failure\",stage=\"validate_balance\"}"))
+            .body(containsString("transactions_transfer_stage_seconds_bucket{exception=\"none\",outcome=\"success\",stage=\"persist\",le=\"0.1\"}"))
+            .body(containsString("transactions_client_requests_seconds_count{client=\"account-service\",exception=\"none\",operation=\"getAccount\",outcome=\"success\"}"))
+            .body(containsString("transactions_client_requests_seconds_count{client=\"account-service\",exception=\"IllegalStateException\",operation=\"validateBalance\",outcome=\"failure\"}"));
+    }
+
+    private void transfer(String sourceAccountId, int expectedStatus) {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "%s",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "Timed transfer"
+                }
+                """.formatted(sourceAccountId))
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(expectedStatus);
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * The remote checks of a transfer, against an account-service stub with a fixed delay, run concurrently: serial
+ * validation costs three round-trips, the concurrent stage one.
+ */
+@QuarkusTest
+public class TransferValidationConcurrencyTest {
+
+    private static final long ACCOUNT_SERVICE_DELAY_MS = 200;
+    private static final int TRANSFERS = 5;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString()))
+                .thenAnswer(invocation -> delayed(account));
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenAnswer(invocation -> delayed(balance));
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testRemoteChecksOverlap() {
+        // Transfers are sent one at a time, so overlapping calls belong to the same transfer
+        for (int i = 0; i < TRANSFERS; i++) {
+            transfer();
+        }
+
+        // Both account lookups and the balance check were in flight together
+        assertEquals(3, maxInFlight.get());
+    }
+
+    private void transfer() {
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "12345",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "Latency benchmark transfer"
+                }
+                """)
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(201);
+    }
+
+    private <T> T delayed(T response) throws InterruptedException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(ACCOUNT_SERVICE_DELAY_MS);
+            return response;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
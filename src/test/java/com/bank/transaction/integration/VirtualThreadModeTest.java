@@ -0,0 +1,101 @@
+package com.bank.transaction.integration;
+
+import com.bank.transaction.client.account.AccountServiceClient;
+import com.bank.transaction.client.account.dto.Account;
+import com.bank.transaction.client.account.dto.BalanceValidationResponse;
+import com.bank.transaction.client.customer.CustomerServiceClient;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.security.TestSecurity;
+import io.restassured.http.ContentType;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the transfer endpoints in virtual-thread mode, which is disabled in the default test
+ * profile.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadModeTest.VirtualThreadsEnabledProfile.class)
+public class VirtualThreadModeTest {
+
+    public static class VirtualThreadsEnabledProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.virtual-threads.enabled", "true");
+        }
+    }
+
+    @InjectMock
+    @RestClient
+    AccountServiceClient accountServiceClientMock;
+
+    @InjectMock
+    @RestClient
+    CustomerServiceClient customerServiceClientMock;
+
+    private final AtomicBoolean checkedOnVirtualThread = new AtomicBoolean();
+
+    @BeforeEach
+    public void setMocks() {
+        Account account = new Account();
+        account.customerId = 123L;
+        account.status = "ACTIVE";
+        when(accountServiceClientMock.getAccount(anyString(), anyString())).thenAnswer(invocation -> {
+            checkedOnVirtualThread.set(Thread.currentThread().isVirtual());
+            return account;
+        });
+
+        BalanceValidationResponse balance = new BalanceValidationResponse();
+        balance.hasBalance = true;
+        when(accountServiceClientMock.validateBalance(anyString(), any(BigDecimal.class), anyString()))
+                .thenReturn(balance);
+    }
+
+    @Test
+    @TestSecurity(user = "user", roles = {"ROLE_USER"})
+    public void testTransferAndLookup() {
+        String transactionId = given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                    "sourceAccountId": "12345",
+                    "targetAccountId": "67890",
+                    "amount": 10.00,
+                    "description": "Virtual thread transfer"
+                }
+                """)
+            .when()
+            .post("/api/transactions/transfer")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("transactionId");
+
+        // The caller's token reaches the remote checks, which run off the request thread
+        verify(accountServiceClientMock).validateBalance(eq("12345"), any(BigDecimal.class), anyString());
+        assertTrue(checkedOnVirtualThread.get(), "Remote checks did not run on a virtual thread");
+
+        given()
+            .when()
+            .get("/api/transactions/" + transactionId)
+            .then()
+            .statusCode(200)
+            .body("status", is("COMPLETED"));
+    }
+}
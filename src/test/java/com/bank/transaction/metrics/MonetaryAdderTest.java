@@ -0,0 +1,85 @@
+package com.bank.transaction.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exactness of {@link MonetaryAdder} on its minor-unit and remainder paths.
+ */
+public class MonetaryAdderTest {
+
+    @Test
+    public void testCentsAreSummedExactly() {
+        MonetaryAdder adder = new MonetaryAdder(2);
+        // 0.10 and 0.20 are not exact as doubles
+        for (int i = 0; i < 1000; i++) {
+            adder.add(new BigDecimal("0.10"));
+            adder.add(new BigDecimal("0.2"));
+        }
+        adder.add(new BigDecimal("-5"));
+
+        assertEquals(new BigDecimal("295.00"), adder.sum());
+        assertEquals(295.0, adder.doubleValue());
+    }
+
+    @Test
+    public void testAmountsBeyondTheScaleAreKeptExactly() {
+        MonetaryAdder adder = new MonetaryAdder(2);
+        adder.add(new BigDecimal("10.25"));
+        adder.add(new BigDecimal("0.005"));
+        adder.add(new BigDecimal("0.0001"));
+
+        assertEquals(new BigDecimal("10.2551"), adder.sum());
+    }
+
+    @Test
+    public void testAmountsTooLargeForMinorUnitsAreKeptExactly() {
+        MonetaryAdder adder = new MonetaryAdder(2);
+        BigDecimal huge = new BigDecimal(Long.MAX_VALUE).add(BigDecimal.ONE);
+        adder.add(huge);
+        adder.add(new BigDecimal("1.50"));
+
+        assertEquals(huge.add(new BigDecimal("1.50")), adder.sum());
+    }
+
+    @Test
+    public void testConcurrentAddsAreNotLost() {
+        MonetaryAdder adder = new MonetaryAdder(2);
+        int threads = 8;
+        int adds = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < adds; i++) {
+                    adder.add(new BigDecimal("0.01"));
+                    // Every tenth add takes the remainder path
+                    if (i % 10 == 0) {
+                        adder.add(new BigDecimal("0.001"));
+                    }
+                }
+            }, executor));
+        }
+        start.countDown();
+        workers.forEach(CompletableFuture::join);
+        executor.shutdown();
+
+        assertEquals(new BigDecimal("808.000"), adder.sum());
+    }
+}
@@ -0,0 +1,143 @@
+package com.bank.transaction.producer;
+
+import com.bank.transaction.dto.TransactionEvent;
+import com.bank.transaction.entity.TransactionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips of {@link TransactionEvent} through the compact Kafka serializer.
+ */
+public class CompactTransactionEventSerializerTest {
+
+    private final CompactTransactionEventSerializer serializer = new CompactTransactionEventSerializer();
+    private final CompactTransactionEventDeserializer deserializer = new CompactTransactionEventDeserializer();
+
+    @Test
+    public void testCompletedEventRoundTrip() throws Exception {
+        TransactionEvent event = new TransactionEvent("123e4567-e89b-12d3-a456-426614174000", "12345", "67890",
+                new BigDecimal("150.75"), LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_000_000),
+                TransactionStatus.COMPLETED, "Rent");
+
+        byte[] bytes = serializer.serialize("transactions.completed", event);
+        TransactionEvent read = deserializer.deserialize("transactions.completed", bytes);
+
+        assertEquals(event.transactionId, read.transactionId);
+        assertEquals(event.sourceAccountId, read.sourceAccountId);
+        assertEquals(event.targetAccountId, read.targetAccountId);
+        assertEquals(event.amount, read.amount);
+        assertEquals(event.timestamp, read.timestamp);
+        assertEquals(event.status, read.status);
+        assertEquals(event.description, read.description);
+        assertNull(read.errorMessage);
+
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(event);
+        assertTrue(bytes.length * 2 < json.length,
+                "Compact event is " + bytes.length + " bytes against " + json.length + " bytes of JSON");
+    }
+
+    @Test
+    public void testEdgeValuesRoundTrip() {
+        TransactionEvent event = new TransactionEvent("id", null, "", new BigDecimal("-12345678901234567890123.4567"),
+                LocalDateTime.of(1965, 3, 1, 0, 0), TransactionStatus.FAILED, "Café 💶 €",
+                "Insufficient funds");
+
+        TransactionEvent read = deserializer.deserialize("transactions.failed",
+                serializer.serialize("transactions.failed", event));
+
+        assertNull(read.sourceAccountId);
+        assertEquals("", read.targetAccountId);
+        assertEquals(event.amount, read.amount);
+        assertEquals(event.timestamp, read.timestamp);
+        assertEquals(TransactionStatus.FAILED, read.status);
+        assertEquals(event.description, read.description);
+        assertEquals(event.errorMessage, read.errorMessage);
+    }
+
+    @Test
+    public void testStringsMatchJdkEncoding() {
+        String malformed = "a\uD800b";
+        TransactionEvent event = new TransactionEvent();
+        event.description = malformed;
+
+        byte[] bytes = serializer.serialize("transactions.completed", event);
+        TransactionEvent read = deserializer.deserialize("transactions.completed", bytes);
+
+        assertEquals(new String(malformed.getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8), read.description);
+        assertNull(read.amount);
+        assertNull(read.timestamp);
+        assertNull(read.status);
+    }
+
+    @Test
+    public void testRejectsUnknownVersion() {
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("transactions.completed", new byte[] {42}));
+        assertNull(serializer.serialize("transactions.completed", null));
+    }
+
+    @Test
+    public void testRejectsMalformedEvents() {
+        byte[] valid = serializer.serialize("transactions.completed", new TransactionEvent("id", "A", "B",
+                new BigDecimal("1.00"), LocalDateTime.of(2024, 1, 1, 0, 0), TransactionStatus.COMPLETED, null));
+
+        // Status is the byte before the two null strings at the end
+        byte[] unknownStatus = valid.clone();
+        unknownStatus[valid.length - 3] = (byte) (TransactionStatus.values().length + 1);
+        assertMalformed(unknownStatus, "Unknown transaction status ordinal");
+
+        // The transaction id claims more bytes than the record has
+        byte[] oversized = valid.clone();
+        oversized[1] = 0x7F;
+        assertMalformed(oversized, "Invalid length");
+
+        // A ten-byte varint decoding to a negative length
+        byte[] negative = new byte[] {1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1};
+        assertMalformed(negative, "Invalid length");
+
+        assertMalformed(Arrays.copyOf(valid, valid.length - 1), "Truncated transaction event");
+        assertMalformed(Arrays.copyOf(valid, valid.length + 1), "unexpected trailing bytes");
+    }
+
+    @Test
+    public void testContentTypeHeader() {
+        TransactionEvent event = new TransactionEvent("id", "A", "B", new BigDecimal("1.00"),
+                LocalDateTime.of(2024, 1, 1, 0, 0), TransactionStatus.COMPLETED, null);
+        Headers headers = new RecordHeaders();
+
+        byte[] bytes = serializer.serialize("transactions.completed", headers, event);
+
+        assertEquals(CompactTransactionEventSerializer.CONTENT_TYPE,
+                new String(headers.lastHeader("content-type").value(), StandardCharsets.UTF_8));
+        assertEquals("id", deserializer.deserialize("transactions.completed", headers, bytes).transactionId);
+        // Records published without the header are still read
+        assertEquals("id", deserializer.deserialize("transactions.completed", new RecordHeaders(), bytes)
+                .transactionId);
+
+        Headers json = new RecordHeaders().add("content-type", "application/json".getBytes(StandardCharsets.UTF_8));
+        SerializationException e = assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("transactions.completed", json, bytes));
+        assertTrue(e.getMessage().contains("application/json"), e.getMessage());
+    }
+
+    private void assertMalformed(byte[] data, String message) {
+        SerializationException e = assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("transactions.completed", data));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.exception.AccountBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lock timeouts of {@link AccountLockManager}.
+ */
+public class AccountLockManagerTest {
+
+    private AccountLockManager locks;
+
+    @BeforeEach
+    public void setUp() {
+        locks = new AccountLockManager();
+        locks.meterRegistry = new SimpleMeterRegistry();
+        locks.enabled = true;
+        locks.stripeCount = 1024;
+        locks.timeout = Duration.ofMillis(50);
+        locks.init();
+    }
+
+    @Test
+    public void testTimeoutReleasesTheStripesAlreadyTaken() {
+        AccountLockManager.Held busy = locks.acquire(List.of("ACC-2"));
+
+        // Whatever was taken before the wait on ACC-2 timed out is given back
+        assertThrows(AccountBusyException.class, () -> locks.acquire(List.of("ACC-1", "ACC-2")));
+        locks.acquire(List.of("ACC-1")).release();
+
+        busy.release();
+        locks.acquire(List.of("ACC-1", "ACC-2")).release();
+    }
+}
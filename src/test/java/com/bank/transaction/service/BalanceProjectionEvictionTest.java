@@ -0,0 +1,85 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Eviction of {@link BalanceProjection} entries: only stale entries without reservations or recent local debits go.
+ */
+public class BalanceProjectionEvictionTest {
+
+    private static final Duration MAX_AGE = Duration.ofMillis(500);
+
+    private BalanceProjection projection;
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        transactionRegistry = mock(TransactionSynchronizationRegistry.class);
+        projection = new BalanceProjection();
+        projection.transactionRegistry = transactionRegistry;
+        projection.meterRegistry = new SimpleMeterRegistry();
+        projection.enabled = true;
+        projection.maxAge = MAX_AGE;
+        projection.safetyMargin = new BigDecimal("100.00");
+        projection.stripeCount = 4;
+        projection.init();
+    }
+
+    @Test
+    public void testStaleEntryIsEvicted() {
+        projection.seed("ACC-1", new BigDecimal("1000.00"), System.nanoTime() - MAX_AGE.toNanos());
+        projection.seed("ACC-2", new BigDecimal("1000.00"), System.nanoTime());
+
+        assertEquals(1, projection.evictStale());
+        assertEquals(0, projection.evictStale());
+    }
+
+    @Test
+    public void testEntryWithReservationIsKept() throws InterruptedException {
+        projection.seed("ACC-3", new BigDecimal("1000.00"), System.nanoTime() - Duration.ofMillis(400).toNanos());
+        projection.tryReserve("T-1", "ACC-3", new BigDecimal("10.00"));
+
+        Thread.sleep(150);
+        assertEquals(0, projection.evictStale());
+
+        projection.release("T-1");
+        assertEquals(1, projection.evictStale());
+    }
+
+    @Test
+    public void testEntryWithRecentDebitIsKept() throws InterruptedException {
+        projection.seed("ACC-4", new BigDecimal("1000.00"), System.nanoTime() - Duration.ofMillis(400).toNanos());
+        projection.tryReserve("T-2", "ACC-4", new BigDecimal("10.00"));
+        commit("T-2", "ACC-4", "10.00");
+
+        // Stale, but the debit is younger than max-age and must survive a re-seed
+        Thread.sleep(150);
+        assertEquals(0, projection.evictStale());
+
+        Thread.sleep(MAX_AGE.toMillis());
+        assertEquals(1, projection.evictStale());
+    }
+
+    private void commit(String transactionId, String sourceAccountId, String amount) {
+        Transaction transaction = new Transaction(transactionId, sourceAccountId, "TARGET", new BigDecimal(amount),
+                null);
+        projection.applyAfterCommit(transaction);
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactionRegistry).registerInterposedSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+    }
+}
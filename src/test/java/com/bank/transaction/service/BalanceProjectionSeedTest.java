@@ -0,0 +1,74 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.entity.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Seeding of {@link BalanceProjection} entries: their age and the local debits kept across re-seeds.
+ */
+public class BalanceProjectionSeedTest {
+
+    private static final Duration MAX_AGE = Duration.ofMillis(500);
+
+    private BalanceProjection projection;
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        transactionRegistry = mock(TransactionSynchronizationRegistry.class);
+        projection = new BalanceProjection();
+        projection.transactionRegistry = transactionRegistry;
+        projection.meterRegistry = new SimpleMeterRegistry();
+        projection.enabled = true;
+        projection.maxAge = MAX_AGE;
+        projection.safetyMargin = new BigDecimal("100.00");
+        projection.stripeCount = 4;
+        projection.init();
+    }
+
+    @Test
+    public void testAgeCountsFromTheFetch() {
+        // Fetched longer than max-age ago, e.g. served from the account cache
+        projection.seed("ACC-1", new BigDecimal("1000.00"), System.nanoTime() - MAX_AGE.toNanos());
+
+        assertFalse(projection.tryReserve("T-1", "ACC-1", new BigDecimal("10.00")));
+    }
+
+    @Test
+    public void testReseedKeepsLocalDebits() throws InterruptedException {
+        // Seeded from a fetch 300ms old, so the entry goes stale before the debit below is max-age old
+        projection.seed("ACC-2", new BigDecimal("1000.00"), System.nanoTime() - Duration.ofMillis(300).toNanos());
+        assertTrue(projection.tryReserve("T-2", "ACC-2", new BigDecimal("300.00")));
+        commit("T-2", "ACC-2", "300.00");
+
+        Thread.sleep(250);
+        // Account-service has not applied the debit yet
+        projection.seed("ACC-2", new BigDecimal("1000.00"), System.nanoTime());
+
+        assertFalse(projection.tryReserve("T-3", "ACC-2", new BigDecimal("650.00")));
+        assertTrue(projection.tryReserve("T-4", "ACC-2", new BigDecimal("550.00")));
+    }
+
+    private void commit(String transactionId, String sourceAccountId, String amount) {
+        Transaction transaction = new Transaction(transactionId, sourceAccountId, "TARGET", new BigDecimal(amount),
+                null);
+        projection.applyAfterCommit(transaction);
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactionRegistry).registerInterposedSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bank.transaction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Partition plans of {@link TransactionPartitionManager}; the DDL itself needs PostgreSQL.
+ */
+public class TransactionPartitionManagerTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2026, 10);
+
+    @Test
+    public void testCreatesCurrentAndFutureMonths() {
+        TransactionPartitionManager.Plan plan = TransactionPartitionManager.plan(OCTOBER, Set.of(), 3, 0);
+
+        assertEquals(List.of(YearMonth.of(2026, 10), YearMonth.of(2026, 11), YearMonth.of(2026, 12),
+                YearMonth.of(2027, 1)), plan.create());
+        assertTrue(plan.expire().isEmpty());
+    }
+
+    @Test
+    public void testOnlyMissingMonthsAreCreated() {
+        TransactionPartitionManager.Plan plan = TransactionPartitionManager.plan(OCTOBER,
+                Set.of(YearMonth.of(2026, 9), YearMonth.of(2026, 10), YearMonth.of(2026, 11)), 2, 0);
+
+        assertEquals(List.of(YearMonth.of(2026, 12)), plan.create());
+    }
+
+    @Test
+    public void testPartitionsOlderThanRetentionExpireOldestFirst() {
+        Set<YearMonth> existing = Set.of(YearMonth.of(2026, 7), YearMonth.of(2026, 6), YearMonth.of(2026, 8),
+                YearMonth.of(2026, 9), YearMonth.of(2026, 10));
+
+        TransactionPartitionManager.Plan plan = TransactionPartitionManager.plan(OCTOBER, existing, 0, 3);
+
+        // July, August and September are the three months kept before October
+        assertEquals(List.of(YearMonth.of(2026, 6)), plan.expire());
+        assertTrue(plan.create().isEmpty());
+    }
+
+    @Test
+    public void testZeroRetentionKeepsEveryPartition() {
+        TransactionPartitionManager.Plan plan = TransactionPartitionManager.plan(OCTOBER,
+                Set.of(YearMonth.of(2001, 1), YearMonth.of(2026, 10)), 0, 0);
+
+        assertTrue(plan.expire().isEmpty());
+    }
+
+    @Test
+    public void testPartitionName() {
+        assertEquals("transactions_2027_01", TransactionPartitionManager.partitionName(YearMonth.of(2027, 1)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.bank.transaction.service;
+
+import com.bank.transaction.dto.AccountSummary;
+import com.bank.transaction.dto.AccountSummary.Granularity;
+import com.bank.transaction.entity.AccountDailyRollup;
+import com.bank.transaction.entity.AccountDailyRollup.Direction;
+import com.bank.transaction.entity.TransactionStatus;
+import com.bank.transaction.exception.RebuildRunningException;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Folding of daily rollups into summary periods by {@link TransactionRollups}, and its one rebuild at a time.
+ */
+public class TransactionRollupsTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 20);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 10);
+
+    @Test
+    public void testMonthsStartWithinTheRange() {
+        AccountSummary summary = TransactionRollups.summarize("ACC-1", FROM, TO, Granularity.MONTH, List.of(
+                rollup(LocalDate.of(2026, 2, 3), TransactionStatus.COMPLETED, Direction.OUT, 2, "30.00", "10.00",
+                        "20.00"),
+                rollup(LocalDate.of(2026, 1, 25), TransactionStatus.COMPLETED, Direction.OUT, 1, "5.00", "5.00",
+                        "5.00"),
+                rollup(LocalDate.of(2026, 2, 27), TransactionStatus.COMPLETED, Direction.OUT, 1, "50.00", "50.00",
+                        "50.00")));
+
+        assertEquals(List.of(FROM, LocalDate.of(2026, 2, 1)),
+                summary.periods.stream().map(period -> period.start).toList());
+        AccountSummary.Flow february = summary.periods.get(1).outflow;
+        assertEquals(3, february.count);
+        assertEquals(new BigDecimal("80.00"), february.total);
+        assertEquals(new BigDecimal("10.00"), february.min);
+        assertEquals(new BigDecimal("50.00"), february.max);
+        assertEquals(4, summary.totals.get(0).outflow.count);
+        assertEquals(0, summary.totals.get(0).inflow.count);
+        assertNull(summary.totals.get(0).inflow.min);
+    }
+
+    @Test
+    public void testDaysAreSplitByStatus() {
+        AccountSummary summary = TransactionRollups.summarize("ACC-1", FROM, TO, Granularity.DAY, List.of(
+                rollup(TO, TransactionStatus.FAILED, Direction.OUT, 1, "9.00", "9.00", "9.00"),
+                rollup(TO, TransactionStatus.COMPLETED, Direction.IN, 1, "7.00", "7.00", "7.00"),
+                rollup(FROM, TransactionStatus.COMPLETED, Direction.IN, 1, "3.00", "3.00", "3.00")));
+
+        assertEquals(List.of(FROM, TO, TO), summary.periods.stream().map(period -> period.start).toList());
+        assertEquals(List.of(TransactionStatus.COMPLETED, TransactionStatus.COMPLETED, TransactionStatus.FAILED),
+                summary.periods.stream().map(period -> period.status).toList());
+        assertEquals(new BigDecimal("10.00"), summary.totals.get(0).inflow.total);
+        assertEquals(new BigDecimal("9.00"), summary.totals.get(1).outflow.total);
+    }
+
+    @Test
+    public void testRebuildIsRejectedWhileOneIsRunning() {
+        TransactionRollups rollups = new TransactionRollups();
+        rollups.logger = Logger.getLogger(TransactionRollups.class);
+        rollups.enabled = true;
+        rollups.rebuildChunkDays = 7;
+        rollups.rebuildParallelism = 1;
+        rollups.executor = mock(ManagedExecutor.class);
+        CompletableFuture<Void> worker = new CompletableFuture<>();
+        when(rollups.executor.runAsync(any(Runnable.class))).thenReturn(worker);
+
+        rollups.rebuild("2026-01-01", "2026-01-31");
+        assertThrows(RebuildRunningException.class, () -> rollups.rebuild("2026-02-01", "2026-02-28"));
+
+        worker.complete(null);
+        assertEquals(LocalDate.of(2026, 2, 1), rollups.rebuild("2026-02-01", "2026-02-28").from);
+    }
+
+    private static AccountDailyRollup rollup(LocalDate date, TransactionStatus status, Direction direction,
+                                             long count, String total, String min, String max) {
+        AccountDailyRollup rollup = new AccountDailyRollup();
+        rollup.accountId = "ACC-1";
+        rollup.date = date;
+        rollup.status = status;
+        rollup.direction = direction;
+        rollup.count = count;
+        rollup.total = new BigDecimal(total);
+        rollup.min = new BigDecimal(min);
+        rollup.max = new BigDecimal(max);
+        return rollup;
+    }
+}
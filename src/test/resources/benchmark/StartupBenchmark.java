@@ -0,0 +1,267 @@
+// Cold-start benchmark: time from process launch to the first successful POST /api/transactions/transfer, and the
+// resident memory of the process at that point and after a short burst of transfers. Downstream services are
+// replaced by an in-process stub answering immediately, so the numbers only cover the service itself; PostgreSQL
+// (with src/main/resources/db/schema.sql applied) and Kafka have to be reachable as configured
+// (QUARKUS_DATASOURCE_JDBC_URL, KAFKA_BOOTSTRAP_SERVERS). Build the variant under test, then run this file directly
+// with the command that starts it:
+//
+//   ./mvnw package -DskipTests                 java src/test/resources/benchmark/StartupBenchmark.java -- \
+//                                                  java -jar target/quarkus-app/quarkus-run.jar
+//   ./mvnw package -DskipTests -Pappcds        java src/test/resources/benchmark/StartupBenchmark.java \
+//                                                  --dir target/quarkus-app -- \
+//                                                  java -XX:SharedArchiveFile=app-cds.jsa -jar quarkus-run.jar
+//   ./mvnw package -DskipTests -Dnative        java src/test/resources/benchmark/StartupBenchmark.java -- \
+//                                                  target/transaction-service-1.0.0-SNAPSHOT-runner
+//
+// A JWT accepted by the service is read from the TOKEN environment variable. Without it, the benchmark signs its own
+// with a key pair generated for the run and points the service's MP_JWT_VERIFY_PUBLICKEY_LOCATION at the public
+// key. The startup-benchmark Maven profile runs it in the verify phase with the limits committed in pom.xml:
+//
+//   ./mvnw verify -Dnative -Pstartup-benchmark
+//
+// Options before "--":
+//   --runs N                   cold starts to measure (default 5), the median is reported
+//   --port N                   HTTP port given to the service (default 8083)
+//   --dir DIR                  working directory of the service; AppCDS archives only load from the jar's directory
+//   --max-first-transfer-ms N  fail (exit code 1) when the median time to the first transfer is above N
+//   --max-rss-mb N             fail when the median RSS after the burst is above N
+// RSS is read from /proc, so it has to run on Linux, and the command must be the service process itself rather
+// than a wrapper script.
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final int BURST = 100;
+
+    record Run(long firstTransferMillis, long rssAtFirstTransferKb, long rssAfterBurstKb, long peakRssKb) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            System.err.println("Usage: java StartupBenchmark.java [options] -- <command starting the service>");
+            System.exit(2);
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+        int runs = 5;
+        int port = 8083;
+        long maxFirstTransferMillis = Long.MAX_VALUE;
+        long maxRssMb = Long.MAX_VALUE;
+        File directory = new File(".");
+        for (int i = 0; i < separator; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(value);
+                case "--port" -> port = Integer.parseInt(value);
+                case "--dir" -> directory = new File(value);
+                case "--max-first-transfer-ms" -> maxFirstTransferMillis = Long.parseLong(value);
+                case "--max-rss-mb" -> maxRssMb = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        String token = System.getenv("TOKEN");
+        Path publicKey = null;
+        if (token == null || token.isBlank()) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keys = generator.generateKeyPair();
+            publicKey = Files.createTempFile("startup-benchmark-", ".pem");
+            Files.writeString(publicKey, "-----BEGIN PUBLIC KEY-----\n"
+                    + Base64.getMimeEncoder(64, new byte[] {'\n'}).encodeToString(keys.getPublic().getEncoded())
+                    + "\n-----END PUBLIC KEY-----\n");
+            token = sign(keys.getPrivate());
+        }
+
+        HttpServer stub = startDownstreamStub();
+        String stubUrl = "http://localhost:" + stub.getAddress().getPort();
+        List<Run> results = new ArrayList<>();
+        try {
+            for (int i = 1; i <= runs; i++) {
+                Run run = measure(command, directory, port, stubUrl, publicKey, token, i);
+                results.add(run);
+                System.out.printf("run %d: first transfer %d ms, RSS %d MB at first transfer, %d MB after %d "
+                                + "transfers, peak %d MB%n", i, run.firstTransferMillis(),
+                        run.rssAtFirstTransferKb() / 1024, run.rssAfterBurstKb() / 1024, BURST,
+                        run.peakRssKb() / 1024);
+            }
+        } finally {
+            stub.stop(0);
+        }
+
+        long firstTransferMillis = median(results.stream().map(Run::firstTransferMillis).toList());
+        long rssMb = median(results.stream().map(Run::rssAfterBurstKb).toList()) / 1024;
+        long peakRssMb = median(results.stream().map(Run::peakRssKb).toList()) / 1024;
+        System.out.printf("median of %d runs: first transfer %d ms, RSS %d MB after %d transfers, peak %d MB%n",
+                runs, firstTransferMillis, rssMb, BURST, peakRssMb);
+
+        boolean failed = false;
+        if (firstTransferMillis > maxFirstTransferMillis) {
+            System.out.printf("FAILED: first transfer %d ms is above %d ms%n", firstTransferMillis,
+                    maxFirstTransferMillis);
+            failed = true;
+        }
+        if (rssMb > maxRssMb) {
+            System.out.printf("FAILED: RSS %d MB is above %d MB%n", rssMb, maxRssMb);
+            failed = true;
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static Run measure(List<String> command, File directory, int port, String stubUrl, Path publicKey,
+                               String token, int runNumber) throws Exception {
+        File log = Files.createTempFile("startup-benchmark-" + runNumber + "-", ".log").toFile();
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(directory)
+                .redirectErrorStream(true)
+                .redirectOutput(log);
+        Map<String, String> environment = builder.environment();
+        environment.put("QUARKUS_HTTP_PORT", String.valueOf(port));
+        environment.put("ACCOUNT_SERVICE_URL", stubUrl);
+        environment.put("CUSTOMER_SERVICE_URL", stubUrl);
+        if (publicKey != null) {
+            environment.put("MP_JWT_VERIFY_PUBLICKEY_LOCATION", "file:" + publicKey.toAbsolutePath());
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (!transfer(client, port, token, runNumber, 0)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Service exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("No successful transfer within " + STARTUP_TIMEOUT + ", see "
+                            + log);
+                }
+                Thread.sleep(5);
+            }
+            long firstTransferMillis = (System.nanoTime() - start) / 1_000_000;
+            long rssAtFirstTransfer = memoryKb(process, "VmRSS");
+
+            for (int i = 1; i <= BURST; i++) {
+                if (!transfer(client, port, token, runNumber, i)) {
+                    throw new IllegalStateException("Transfer " + i + " failed, see " + log);
+                }
+            }
+            return new Run(firstTransferMillis, rssAtFirstTransfer, memoryKb(process, "VmRSS"),
+                    memoryKb(process, "VmHWM"));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean transfer(HttpClient client, int port, String token, int runNumber, int index)
+            throws InterruptedException {
+        // Distinct accounts per run, so the balance projection and account cache start cold every time
+        String body = String.format("{\"sourceAccountId\":\"START-%d-%d\",\"targetAccountId\":\"START-%d-%d-T\","
+                + "\"amount\":1.00,\"description\":\"Startup benchmark\"}", runNumber, index, runNumber, index);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/transactions/transfer"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    /**
+     * An RS256 token for a ROLE_USER caller, with the issuer the service expects.
+     */
+    private static String sign(PrivateKey key) throws Exception {
+        long now = System.currentTimeMillis() / 1000;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String claims = encoder.encodeToString(String.format("{\"iss\":\"https://banking.local\","
+                + "\"upn\":\"startup-benchmark\",\"groups\":[\"ROLE_USER\"],\"iat\":%d,\"exp\":%d}",
+                now, now + 3600).getBytes(StandardCharsets.UTF_8));
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(key);
+        signature.update((header + "." + claims).getBytes(StandardCharsets.US_ASCII));
+        return header + "." + claims + "." + encoder.encodeToString(signature.sign());
+    }
+
+    private static long memoryKb(Process process, String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+            if (line.startsWith(field + ":")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        throw new IllegalStateException(field + " not found for process " + process.pid());
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static HttpServer startDownstreamStub() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/accounts/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String accountId = path.substring("/api/accounts/".length()).split("/")[0];
+            if (path.endsWith("/validate-balance")) {
+                respond(exchange, "{\"hasBalance\":true}");
+            } else {
+                respond(exchange, "{\"accountId\":\"" + accountId + "\",\"customerId\":1,\"balance\":1000000.00,"
+                        + "\"type\":\"CHECKING\",\"status\":\"ACTIVE\"}");
+            }
+        });
+        server.createContext("/api/customers/", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/validate")) {
+                respond(exchange, "{\"valid\":true,\"customerId\":1}");
+            } else {
+                respond(exchange, "{\"id\":1,\"name\":\"Startup Benchmark\",\"status\":\"ACTIVE\"}");
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
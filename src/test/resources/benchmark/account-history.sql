@@ -0,0 +1,78 @@
+-- Account history plan and latency benchmark (PostgreSQL).
+--
+-- Seeds 10M transfers over 100k accounts, with a hot merchant account ('MERCHANT-1') on the receiving end of
+-- 1M of them, then compares the former OR query with the UNION ALL query used by Transaction.findByAccountId
+-- and Transaction.findPageByAccountId. Run against an empty database, for example:
+--
+--   psql -h localhost -U transaction_user -d transaction_bench -f src/test/resources/benchmark/account-history.sql
+--
+-- Expected: the OR query is a Seq Scan (or BitmapOr over both indexes plus a sort of every matching row),
+-- the UNION ALL query a Merge Append of two Index Scans that stops after the requested page.
+
+\timing on
+
+create sequence if not exists transactions_seq start with 1 increment by 50;
+
+create table if not exists transactions (
+    id bigint not null primary key,
+    transaction_id varchar(255) not null unique,
+    source_account_id varchar(255) not null,
+    target_account_id varchar(255) not null,
+    amount numeric(19, 2) not null,
+    timestamp timestamp(6) not null,
+    status varchar(255) not null check (status in ('PENDING', 'COMPLETED', 'FAILED')),
+    description varchar(255)
+);
+
+truncate transactions;
+
+insert into transactions (id, transaction_id, source_account_id, target_account_id, amount, timestamp, status, description)
+select n,
+       md5(n::text),
+       'ACC-' || (n % 100000),
+       case when n % 10 = 0 then 'MERCHANT-1' else 'ACC-' || ((n * 7 + 1) % 100000) end,
+       (n % 100000) / 100.0 + 0.01,
+       timestamp '2020-01-01' + (n || ' seconds')::interval,
+       'COMPLETED',
+       'Benchmark transfer ' || n
+from generate_series(1, 10000000) as n;
+
+create index if not exists idx_transactions_source_timestamp on transactions (source_account_id, timestamp desc, id desc);
+create index if not exists idx_transactions_target_timestamp on transactions (target_account_id, timestamp desc, id desc);
+analyze transactions;
+
+-- Before: OR filter, first page of the hot account
+explain (analyze, buffers)
+select * from transactions
+where source_account_id = 'MERCHANT-1' or target_account_id = 'MERCHANT-1'
+order by timestamp desc, id desc
+limit 51;
+
+-- After: UNION ALL of two index range scans, first page of the hot account
+explain (analyze, buffers)
+select * from transactions where source_account_id = 'MERCHANT-1'
+union all select * from transactions where target_account_id = 'MERCHANT-1'
+order by timestamp desc, id desc
+limit 51;
+
+-- After: keyset page deep into the hot account's history
+explain (analyze, buffers)
+select * from transactions where source_account_id = 'MERCHANT-1'
+  and (timestamp < timestamp '2020-03-01' or (timestamp = timestamp '2020-03-01' and id < 5000000))
+union all select * from transactions where target_account_id = 'MERCHANT-1'
+  and (timestamp < timestamp '2020-03-01' or (timestamp = timestamp '2020-03-01' and id < 5000000))
+order by timestamp desc, id desc
+limit 51;
+
+-- Regular account, both query shapes
+explain (analyze, buffers)
+select * from transactions
+where source_account_id = 'ACC-4242' or target_account_id = 'ACC-4242'
+order by timestamp desc, id desc
+limit 51;
+
+explain (analyze, buffers)
+select * from transactions where source_account_id = 'ACC-4242'
+union all select * from transactions where target_account_id = 'ACC-4242'
+order by timestamp desc, id desc
+limit 51;
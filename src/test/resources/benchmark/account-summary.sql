@@ -0,0 +1,92 @@
+-- Year-long account summary latency: aggregating the account's history versus reading daily rollups
+-- (PostgreSQL).
+--
+-- Seeds 10M transfers over one year and 100k accounts, with a hot merchant account ('MERCHANT-1') on the receiving
+-- end of 1M of them, builds account_daily_rollups with the aggregate TransactionRollups uses for rebuilds, then
+-- runs the three ways of answering a year-long summary of MERCHANT-1 and of a regular account: downloading the
+-- history (what dashboards did), aggregating it in the database (the summary endpoint with rollups disabled) and
+-- reading the rollups (with rollups enabled). Run against an empty database, for example:
+--
+--   psql -h localhost -U transaction_user -d transaction_bench -f src/test/resources/benchmark/account-summary.sql
+--
+-- Expected: both history-based queries grow with the account's number of transfers, about 1M rows for
+-- MERCHANT-1, while the rollup read is an index range scan of at most 365 rows per status and direction and
+-- answers in about a millisecond for either account.
+
+\timing on
+
+drop table if exists transactions, account_daily_rollups;
+
+create table transactions (
+    id bigint not null primary key,
+    transaction_id varchar(255) not null unique,
+    source_account_id varchar(255) not null,
+    target_account_id varchar(255) not null,
+    amount numeric(19, 2) not null,
+    timestamp timestamp(6) not null,
+    status varchar(255) not null,
+    description varchar(255),
+    idempotency_key varchar(255) unique
+);
+
+insert into transactions (id, transaction_id, source_account_id, target_account_id, amount, timestamp, status)
+select n,
+       md5(n::text),
+       'ACC-' || (n % 100000),
+       case when n % 10 = 0 then 'MERCHANT-1' else 'ACC-' || ((n * 7 + 1) % 100000) end,
+       (n % 100000) / 100.0 + 0.01,
+       timestamp '2025-01-01' + n * (interval '365 days' / 10000000),
+       case when n % 50 = 0 then 'FAILED' else 'COMPLETED' end
+from generate_series(1, 10000000) as n;
+
+create index on transactions (source_account_id, timestamp desc, id desc);
+create index on transactions (target_account_id, timestamp desc, id desc);
+
+create table account_daily_rollups (
+    account_id varchar(255) not null,
+    rollup_date date not null,
+    status varchar(255) not null,
+    direction varchar(8) not null,
+    transfer_count bigint not null,
+    total_amount numeric(19, 2) not null,
+    min_amount numeric(19, 2) not null,
+    max_amount numeric(19, 2) not null,
+    primary key (account_id, direction, rollup_date, status)
+);
+
+insert into account_daily_rollups
+select source_account_id, cast(timestamp as date), status, 'OUT', count(*), sum(amount), min(amount), max(amount)
+from transactions group by source_account_id, cast(timestamp as date), status
+union all
+select target_account_id, cast(timestamp as date), status, 'IN', count(*), sum(amount), min(amount), max(amount)
+from transactions group by target_account_id, cast(timestamp as date), status;
+
+vacuum analyze transactions;
+vacuum analyze account_daily_rollups;
+
+-- History download, as dashboards did
+explain (analyze, costs off)
+select * from transactions where source_account_id = 'MERCHANT-1'
+union all select * from transactions where target_account_id = 'MERCHANT-1'
+order by timestamp desc, id desc;
+
+-- Aggregated from the history, as the summary endpoint does without rollups
+explain (analyze, costs off)
+select source_account_id, cast(timestamp as date), status, 'OUT', count(*), sum(amount), min(amount), max(amount)
+from transactions where source_account_id = 'MERCHANT-1'
+  and timestamp >= timestamp '2025-01-01' and timestamp < timestamp '2026-01-01'
+group by source_account_id, cast(timestamp as date), status
+union all
+select target_account_id, cast(timestamp as date), status, 'IN', count(*), sum(amount), min(amount), max(amount)
+from transactions where target_account_id = 'MERCHANT-1'
+  and timestamp >= timestamp '2025-01-01' and timestamp < timestamp '2026-01-01'
+group by target_account_id, cast(timestamp as date), status;
+
+-- Read from the rollups, as the summary endpoint does with rollups enabled
+explain (analyze, costs off)
+select * from account_daily_rollups
+where account_id = 'MERCHANT-1' and rollup_date >= date '2025-01-01' and rollup_date <= date '2025-12-31';
+
+explain (analyze, costs off)
+select * from account_daily_rollups
+where account_id = 'ACC-4242' and rollup_date >= date '2025-01-01' and rollup_date <= date '2025-12-31';
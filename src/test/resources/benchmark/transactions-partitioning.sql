@@ -0,0 +1,197 @@
+-- Insert and account history latency of a plain and a monthly partitioned transactions table as data grows
+-- (PostgreSQL 13+).
+--
+-- Loads the same transfers, one year at a time over six years, into both tables and after each year measures
+-- single-row inserts into the latest month and the first and a deep keyset page of a hot and a regular account,
+-- with the queries of Transaction.findPageByAccountId. Run against an empty database, for example:
+--
+--   psql -h localhost -U transaction_user -d transaction_bench -v rows_per_year=2000000 \
+--        -f src/test/resources/benchmark/transactions-partitioning.sql
+--
+-- Expected: the partitioned table keeps insert and history latency flat, because the indexes written and read
+-- are those of recent partitions only, while the plain table's indexes keep growing. The explain plans at the end
+-- show the pruning: a keyset page only visits the partitions up to its position, and the first page reads the
+-- partitions newest first and stops at the limit.
+
+\set ON_ERROR_STOP on
+\if :{?rows_per_year}
+\else
+\set rows_per_year 2000000
+\endif
+select set_config('bench.rows_per_year', :'rows_per_year', false);
+
+drop table if exists transactions_plain, transactions_partitioned;
+drop sequence if exists transactions_bench_seq;
+create sequence transactions_bench_seq;
+
+create table transactions_plain (
+    id bigint not null primary key,
+    transaction_id varchar(255) not null unique,
+    source_account_id varchar(255) not null,
+    target_account_id varchar(255) not null,
+    amount numeric(19, 2) not null,
+    timestamp timestamp(6) not null,
+    status varchar(255) not null,
+    description varchar(255),
+    idempotency_key varchar(255) unique
+);
+create index on transactions_plain (source_account_id, timestamp desc, id desc);
+create index on transactions_plain (target_account_id, timestamp desc, id desc);
+
+create table transactions_partitioned (
+    id bigint not null,
+    transaction_id varchar(255) not null,
+    source_account_id varchar(255) not null,
+    target_account_id varchar(255) not null,
+    amount numeric(19, 2) not null,
+    timestamp timestamp(6) not null,
+    status varchar(255) not null,
+    description varchar(255),
+    idempotency_key varchar(255),
+    primary key (id, timestamp),
+    unique (transaction_id, timestamp)
+) partition by range (timestamp);
+create index on transactions_partitioned (source_account_id, timestamp desc, id desc);
+create index on transactions_partitioned (target_account_id, timestamp desc, id desc);
+
+do $$
+declare
+    month date := date '2020-01-01';
+begin
+    while month < date '2026-01-01' loop
+        execute format('create table %I partition of transactions_partitioned for values from (%L) to (%L)',
+                       'transactions_partitioned_' || to_char(month, 'YYYY_MM'), month,
+                       (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    end loop;
+end
+$$;
+
+-- One year of transfers spread evenly over the year, every tenth one to MERCHANT-1
+create function bench_load(tbl text, year int) returns void language plpgsql as $$
+declare
+    yearly_rows bigint := current_setting('bench.rows_per_year')::bigint;
+    first_id bigint := (year - 2020) * yearly_rows;
+begin
+    execute format($q$
+        insert into %I (id, transaction_id, source_account_id, target_account_id, amount, timestamp, status,
+                        description)
+        select n,
+               md5(n::text),
+               'ACC-' || (n %% 100000),
+               case when n %% 10 = 0 then 'MERCHANT-1' else 'ACC-' || ((n * 7 + 1) %% 100000) end,
+               (n %% 100000) / 100.0 + 0.01,
+               make_timestamp(%s, 1, 1, 0, 0, 0) + (n - %s - 1) * (interval '365 days' / %s),
+               'COMPLETED',
+               'Benchmark transfer ' || n
+        from generate_series(%s + 1, %s + %s) as n
+    $q$, tbl, year, first_id, yearly_rows, first_id, first_id, yearly_rows);
+    execute format('analyze %I', tbl);
+end
+$$;
+
+-- Average milliseconds per operation after the given year has been loaded
+create function bench_measure(tbl text, year int) returns table (operation text, avg_ms numeric)
+language plpgsql as $$
+declare
+    history text := format('select * from %1$I where source_account_id = $1 %%1$s'
+                           ' union all select * from %1$I where target_account_id = $1 %%1$s'
+                           ' order by timestamp desc, id desc limit 51', tbl);
+    keyset text := 'and timestamp <= $2 and (timestamp < $2 or id < $3)';
+    latest timestamp := make_timestamp(year, 12, 31, 0, 0, 0);
+    middle timestamp := make_timestamp(year - 2, 6, 15, 0, 0, 0);
+    iterations int := 200;
+    inserts int := 2000;
+    started timestamp;
+    id bigint;
+begin
+    started := clock_timestamp();
+    for i in 1..inserts loop
+        id := nextval('transactions_bench_seq') + 1000000000000;
+        execute format('insert into %I (id, transaction_id, source_account_id, target_account_id, amount,'
+                       ' timestamp, status) values ($1, $2, $3, $4, 10.00, $5, ''COMPLETED'')', tbl)
+            using id, 'insert-' || id, 'ACC-' || (i % 100000), 'ACC-' || ((i + 1) % 100000),
+                  latest + (i * interval '1 millisecond');
+    end loop;
+    operation := 'single-row insert';
+    avg_ms := round(extract(epoch from clock_timestamp() - started) * 1000 / inserts, 4);
+    return next;
+
+    foreach operation in array array['MERCHANT-1', 'ACC-4242'] loop
+        started := clock_timestamp();
+        for i in 1..iterations loop
+            execute format('select count(*) from (%s) page', format(history, '')) using operation;
+        end loop;
+        avg_ms := round(extract(epoch from clock_timestamp() - started) * 1000 / iterations, 4);
+        operation := 'first page ' || operation;
+        return next;
+    end loop;
+
+    if year >= 2022 then
+        foreach operation in array array['MERCHANT-1', 'ACC-4242'] loop
+            started := clock_timestamp();
+            for i in 1..iterations loop
+                execute format('select count(*) from (%s) page', format(history, keyset))
+                    using operation, middle, 9223372036854775807;
+            end loop;
+            avg_ms := round(extract(epoch from clock_timestamp() - started) * 1000 / iterations, 4);
+            operation := 'keyset page two years back ' || operation;
+            return next;
+        end loop;
+    end if;
+end
+$$;
+
+create temporary table bench_results (year int, tbl text, operation text, avg_ms numeric);
+
+do $$
+begin
+    for year in 2020..2025 loop
+        perform bench_load('transactions_plain', year);
+        perform bench_load('transactions_partitioned', year);
+        insert into bench_results select year, 'plain', m.* from bench_measure('transactions_plain', year) m;
+        insert into bench_results
+        select year, 'partitioned', m.* from bench_measure('transactions_partitioned', year) m;
+        raise notice 'loaded and measured %', year;
+    end loop;
+end
+$$;
+
+select operation, year, (year - 2019) * current_setting('bench.rows_per_year')::bigint as table_rows,
+       max(avg_ms) filter (where tbl = 'plain') as plain_ms,
+       max(avg_ms) filter (where tbl = 'partitioned') as partitioned_ms
+from bench_results
+group by operation, year
+order by operation, year;
+
+-- Pruning: a keyset page only scans the partitions at or before its position
+explain (analyze, costs off)
+select * from transactions_partitioned where source_account_id = 'MERCHANT-1'
+  and timestamp <= timestamp '2023-06-15' and (timestamp < timestamp '2023-06-15' or id < 9223372036854775807)
+union all select * from transactions_partitioned where target_account_id = 'MERCHANT-1'
+  and timestamp <= timestamp '2023-06-15' and (timestamp < timestamp '2023-06-15' or id < 9223372036854775807)
+order by timestamp desc, id desc
+limit 51;
+
+-- Same with a parameter, as sent by the JDBC driver: pruned at executor startup ("Subplans Removed")
+prepare keyset_page(varchar, timestamp, bigint) as
+select * from transactions_partitioned where source_account_id = $1
+  and timestamp <= $2 and (timestamp < $2 or id < $3)
+union all select * from transactions_partitioned where target_account_id = $1
+  and timestamp <= $2 and (timestamp < $2 or id < $3)
+order by timestamp desc, id desc
+limit 51;
+set plan_cache_mode = force_generic_plan;
+explain (analyze, costs off) execute keyset_page('MERCHANT-1', '2023-06-15', 9223372036854775807);
+reset plan_cache_mode;
+deallocate keyset_page;
+
+-- First page: partitions are read newest first and the scan stops once the limit is reached ("never executed")
+explain (analyze, costs off)
+select * from transactions_partitioned where source_account_id = 'ACC-4242'
+union all select * from transactions_partitioned where target_account_id = 'ACC-4242'
+order by timestamp desc, id desc
+limit 51;
+
+drop function bench_measure(text, int);
+drop function bench_load(text, int);
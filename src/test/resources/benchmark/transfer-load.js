@@ -0,0 +1,62 @@
+// k6 load test for POST /api/transactions/transfer, used to compare the maximum sustainable request rate of the
+// worker-pool and virtual-thread modes. Start the service (with account-service and customer-service, or stubs
+// adding realistic latency) once per mode and run:
+//
+//   VIRTUAL_THREADS_ENABLED=false java -jar target/quarkus-app/quarkus-run.jar
+//   VIRTUAL_THREADS_ENABLED=true  java -jar target/quarkus-app/quarkus-run.jar
+//   k6 run -e TOKEN=<jwt> -e BASE_URL=http://localhost:8083 src/test/resources/benchmark/transfer-load.js
+//
+// The arrival rate ramps up in steps, independently of response times. The highest step that keeps the thresholds
+// below is the sustainable rate for that mode; compare it alongside
+// transactions_transfer_stage_seconds and http_server_requests_seconds from /q/metrics. Run the JVM with
+// -Djdk.tracePinnedThreads=short in virtual-thread mode to report any carrier-thread pinning.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const TOKEN = __ENV.TOKEN;
+const ACCOUNTS = parseInt(__ENV.ACCOUNTS || '1000');
+
+export const options = {
+    scenarios: {
+        transfers: {
+            executor: 'ramping-arrival-rate',
+            startRate: 100,
+            timeUnit: '1s',
+            preAllocatedVUs: 500,
+            maxVUs: 5000,
+            stages: [
+                { target: 250, duration: '1m' },
+                { target: 500, duration: '1m' },
+                { target: 1000, duration: '1m' },
+                { target: 2000, duration: '1m' },
+                { target: 4000, duration: '1m' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: [{ threshold: 'rate<0.01', abortOnFail: true }],
+        http_req_duration: [{ threshold: 'p(99)<500', abortOnFail: true }],
+        dropped_iterations: [{ threshold: 'count<100', abortOnFail: true }],
+    },
+};
+
+export default function () {
+    const source = Math.floor(Math.random() * ACCOUNTS);
+    const target = (source + 1 + Math.floor(Math.random() * (ACCOUNTS - 1))) % ACCOUNTS;
+
+    const response = http.post(`${BASE_URL}/api/transactions/transfer`, JSON.stringify({
+        sourceAccountId: `ACC-${source}`,
+        targetAccountId: `ACC-${target}`,
+        amount: 10.00,
+        description: 'Load test transfer',
+    }), {
+        headers: {
+            'Content-Type': 'application/json',
+            'Authorization': `Bearer ${TOKEN}`,
+        },
+    });
+
+    check(response, { 'transfer created': r => r.status === 201 });
+}